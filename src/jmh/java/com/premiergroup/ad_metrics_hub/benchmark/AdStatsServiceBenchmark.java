@@ -0,0 +1,107 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.premiergroup.ad_metrics_hub.dto.CampaignAdsStatsGraph;
+import com.premiergroup.ad_metrics_hub.dto.CampaignAdsStatsTableRow;
+import com.premiergroup.ad_metrics_hub.dto.WidgetAdsStats;
+import com.premiergroup.ad_metrics_hub.enums.DateFilter;
+import com.premiergroup.ad_metrics_hub.enums.MetricFilter;
+import com.premiergroup.ad_metrics_hub.service.AdStatsService;
+import com.premiergroup.ad_metrics_hub.service.DashboardCache;
+import com.premiergroup.ad_metrics_hub.service.MetricQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of the three dashboard reads over synthetic campaign data, with the response cache
+ * bypassed and rollups off, so every call aggregates the raw-table rows again. Windows over 60
+ * days are bucketed by month, so 7 days exercises the daily path and 90/730 the monthly one.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec}; the profile adds {@code -prof gc}
+ * for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AdStatsServiceBenchmark {
+
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    @Param({"10", "100", "1000"})
+    private int campaigns;
+
+    @Param({"7", "90", "730"})
+    private int days;
+
+    private AdStatsService adStatsService;
+    private String startDate;
+    private String endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MetricQueryService metricQueryService = new MetricQueryService(
+                StubCampaignMetricRepository.create(new SyntheticMetrics(campaigns)), null, null, null);
+        adStatsService = new AdStatsService(
+                metricQueryService, new PassThroughCache(), new ObjectMapper(), null, new SimpleMeterRegistry());
+        startDate = END.minusDays(days - 1).toString();
+        endDate = END.toString();
+
+        // first calls compute the stub's answers, outside the measurement
+        widget();
+        graph();
+        table();
+    }
+
+    @Benchmark
+    public WidgetAdsStats widget() {
+        return adStatsService.getSWidgetAdsStats(
+                SyntheticMetrics.MARKETING_CHANNEL_ID, DateFilter.CUSTOM, startDate, endDate);
+    }
+
+    @Benchmark
+    public CampaignAdsStatsGraph graph() {
+        return adStatsService.getCampaignAdsStatsGraph(
+                SyntheticMetrics.MARKETING_CHANNEL_ID, DateFilter.CUSTOM, startDate, endDate,
+                MetricFilter.CLICKS, null, false);
+    }
+
+    @Benchmark
+    public List<CampaignAdsStatsTableRow> table() {
+        return adStatsService.getCampaignAdsStatsTable(
+                SyntheticMetrics.MARKETING_CHANNEL_ID, DateFilter.CUSTOM, startDate, endDate);
+    }
+
+    /**
+     * Always computes, so the benchmark measures aggregation rather than cache lookups.
+     */
+    private static final class PassThroughCache extends DashboardCache {
+
+        PassThroughCache() {
+            super(0, 1);
+        }
+
+        @Override
+        public <T> T get(Key key, Supplier<T> loader) {
+            return loader.get();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.microsoft.bingads.AuthorizationData;
+import com.microsoft.bingads.v13.campaignmanagement.Campaign;
+import com.microsoft.bingads.v13.campaignmanagement.CampaignStatus;
+import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
+import com.premiergroup.ad_metrics_hub.ingestion.IngestionMetrics;
+import com.premiergroup.ad_metrics_hub.service.BingAdsClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * {@link BingAdsClient} serving {@link SyntheticMetrics}: the campaign list, and reports in the
+ * layout the Reporting API downloads, preamble and copyright footer included. Each report takes
+ * {@code latency} before it is ready, standing in for the submit-and-poll round trips. The
+ * campaigns are spread round-robin over {@code accounts}, and each call only sees those of the
+ * account it is made for.
+ * <p>
+ * File downloads are written to a temp file. Streamed reports come from a local HTTP server that
+ * zips each report as it generates it, so the real download, inflate and parse path is exercised.
+ */
+final class FakeBingAdsClient extends BingAdsClient implements AutoCloseable {
+
+    private final SyntheticMetrics data;
+    private final List<Long> accounts;
+    private final Duration latency;
+    private final HttpServer server;
+
+    FakeBingAdsClient(IngestionMetrics metrics, SyntheticMetrics data, List<Long> accounts, Duration latency)
+            throws IOException {
+        super(metrics);
+        this.data = data;
+        this.accounts = accounts;
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/reports", this::serveReport);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    @Override
+    public List<Campaign> getCampaigns(AuthorizationData auth) {
+        List<Campaign> campaigns = new ArrayList<>();
+        for (com.premiergroup.ad_metrics_hub.entity.Campaign c : data.campaigns()) {
+            if (accountOf(c) != auth.getAccountId()) {
+                continue;
+            }
+            Campaign campaign = new Campaign();
+            campaign.setId(Long.parseLong(c.getCampaignId()));
+            campaign.setName(c.getName());
+            campaign.setStatus("PAUSED".equals(c.getStatus()) ? CampaignStatus.PAUSED : CampaignStatus.ACTIVE);
+            campaigns.add(campaign);
+        }
+        return campaigns;
+    }
+
+    @Override
+    public File downloadCampaignPerformanceReport(AuthorizationData auth, LocalDate customStart, LocalDate customEnd)
+            throws InterruptedException {
+        Thread.sleep(latency);
+        try {
+            File file = Files.createTempFile("campaign_report_" + auth.getAccountId() + "_" + customStart + "_" + customEnd + "_", ".csv").toFile();
+            file.deleteOnExit();
+            try (BufferedWriter out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                writeReport(out, auth.getAccountId(), customStart, customEnd);
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected URI reportDownloadUrl(AuthorizationData auth, LocalDate customStart, LocalDate customEnd)
+            throws InterruptedException {
+        Thread.sleep(latency);
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+                + "/reports?account=" + auth.getAccountId() + "&start=" + customStart + "&end=" + customEnd);
+    }
+
+    private void serveReport(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        for (String param : exchange.getRequestURI().getQuery().split("&")) {
+            String[] pair = param.split("=", 2);
+            params.put(pair[0], pair[1]);
+        }
+
+        // chunked: the archive is sent as it is written
+        exchange.sendResponseHeaders(200, 0);
+        try (ZipOutputStream zip = new ZipOutputStream(exchange.getResponseBody())) {
+            zip.putNextEntry(new ZipEntry("campaign_report.csv"));
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+            writeReport(out, Long.parseLong(params.get("account")),
+                    LocalDate.parse(params.get("start")), LocalDate.parse(params.get("end")));
+            out.flush();
+            zip.closeEntry();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void writeReport(BufferedWriter out, long accountId, LocalDate customStart, LocalDate customEnd)
+            throws IOException {
+        out.write("\uFEFF\"Report Name: AllCampaignStats\"\r\n");
+        out.write("\"Report Time: " + customStart + "," + customEnd + "\"\r\n");
+        out.write("\"Time Zone: Default\"\r\n\r\n");
+        out.write("\"TimePeriod\",\"CampaignId\",\"Impressions\",\"Clicks\",\"Spend\",\"Ctr\","
+                + "\"AverageCpc\",\"Conversions\",\"ConversionRate\"\r\n");
+        for (com.premiergroup.ad_metrics_hub.entity.Campaign c : data.campaigns()) {
+            if (accountOf(c) != accountId) {
+                continue;
+            }
+            for (LocalDate day = customStart; !day.isAfter(customEnd); day = day.plusDays(1)) {
+                CampaignMetric row = data.row(c, day);
+                if (row != null) {
+                    writeRow(out, c, row);
+                }
+            }
+        }
+        out.write("\r\n\"©2025 Microsoft Corporation. All rights reserved. \"\r\n");
+    }
+
+    private long accountOf(com.premiergroup.ad_metrics_hub.entity.Campaign c) {
+        return accounts.get(c.getId() % accounts.size());
+    }
+
+    private static void writeRow(BufferedWriter out, com.premiergroup.ad_metrics_hub.entity.Campaign c,
+                                 CampaignMetric row) throws IOException {
+        BigDecimal clicks = BigDecimal.valueOf(row.getClicks());
+        out.write('"' + row.getStatsDate().toString() + "\",\"" + c.getCampaignId() + "\",\""
+                + row.getImpressions() + "\",\"" + row.getClicks() + "\",\"" + row.getCost() + "\",\""
+                + percent(clicks, row.getImpressions()) + "%\",\""
+                + (row.getClicks() > 0 ? row.getCost().divide(clicks, 2, RoundingMode.HALF_UP) : "0.00") + "\",\""
+                + row.getConversions() + "\",\""
+                + percent(BigDecimal.valueOf(row.getConversions()), row.getClicks()) + "%\"\r\n");
+    }
+
+    private static BigDecimal percent(BigDecimal part, int whole) {
+        return whole > 0
+                ? part.movePointRight(2).divide(BigDecimal.valueOf(whole), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,34 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.microsoft.bingads.AuthorizationData;
+import com.premiergroup.ad_metrics_hub.ingestion.IngestionMetrics;
+import com.premiergroup.ad_metrics_hub.service.BingAdsClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replaces the Bing OAuth {@link AuthorizationData} and the {@link BingAdsClient} with
+ * {@link FakeBingAdsClient}. Like {@link FakeGoogleAdsConfig}, registered by
+ * {@link IngestionBenchmark} rather than found by component scanning.
+ */
+class FakeBingAdsConfig {
+
+    @Bean
+    AuthorizationData getAuthorizationData() {
+        AuthorizationData auth = new AuthorizationData();
+        auth.setAccountId(1L);
+        return auth;
+    }
+
+    @Bean(destroyMethod = "close")
+    BingAdsClient bingAdsClient(IngestionMetrics metrics,
+                                @Value("${benchmark.campaigns}") int campaigns,
+                                @Value("${ads.ingestion.bing.account-ids}") List<Long> accounts,
+                                @Value("${benchmark.latency-ms}") long latencyMs) throws IOException {
+        return new FakeBingAdsClient(metrics, new SyntheticMetrics(campaigns), accounts, Duration.ofMillis(latencyMs));
+    }
+}
@@ -0,0 +1,34 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.google.ads.googleads.lib.GoogleAdsClient;
+import com.google.ads.googleads.v20.services.GoogleAdsServiceClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Replaces the {@code googleAdsServiceClient} bean with one that talks to a
+ * {@link FakeGoogleAdsServiceStub}, and the {@code googleAdsClient} it would be built from, whose
+ * credentials are not available here, with an unused mock. Deliberately not a
+ * {@code @Configuration}, so component scanning leaves it out; {@link IngestionBenchmark}
+ * registers it explicitly.
+ */
+class FakeGoogleAdsConfig {
+
+    @Bean
+    GoogleAdsClient googleAdsClient() {
+        return mock(GoogleAdsClient.class);
+    }
+
+    @Bean(destroyMethod = "close")
+    GoogleAdsServiceClient googleAdsServiceClient(@Value("${benchmark.campaigns}") int campaigns,
+                                                  @Value("${benchmark.accounts}") int accounts,
+                                                  @Value("${benchmark.latency-ms}") long latencyMs,
+                                                  @Value("${benchmark.page-size}") int pageSize) {
+        return GoogleAdsServiceClient.create(new FakeGoogleAdsServiceStub(
+                new SyntheticMetrics(campaigns), accounts, Duration.ofMillis(latencyMs), pageSize));
+    }
+}
@@ -0,0 +1,256 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.google.ads.googleads.v20.common.Metrics;
+import com.google.ads.googleads.v20.common.Segments;
+import com.google.ads.googleads.v20.enums.CampaignStatusEnum.CampaignStatus;
+import com.google.ads.googleads.v20.resources.Campaign;
+import com.google.ads.googleads.v20.resources.CustomerClient;
+import com.google.ads.googleads.v20.services.GoogleAdsRow;
+import com.google.ads.googleads.v20.services.SearchGoogleAdsStreamRequest;
+import com.google.ads.googleads.v20.services.SearchGoogleAdsStreamResponse;
+import com.google.ads.googleads.v20.services.stub.GoogleAdsServiceStub;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.ResponseObserver;
+import com.google.api.gax.rpc.ServerStreamingCallable;
+import com.google.api.gax.rpc.StreamController;
+import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process {@code GoogleAdsService} answering the GAQL queries of {@code GoogleAdsAPIService}
+ * from {@link SyntheticMetrics}.
+ * <p>
+ * Each searchStream call waits {@code latency} before its first response, then streams rows in
+ * responses of {@code pageSize} from a virtual thread, honouring the consumer's flow control the
+ * way the gRPC transport does, so a slow writer backs up into the stream.
+ * <p>
+ * The campaigns are spread round-robin over {@code accounts} client accounts, numbered from
+ * {@link #FIRST_ACCOUNT} (the benchmark's {@code google.ads.customer-id}), and each query only sees
+ * the campaigns of the account it is sent to.
+ */
+final class FakeGoogleAdsServiceStub extends GoogleAdsServiceStub {
+
+    private static final Pattern DATES = Pattern.compile("BETWEEN '([0-9-]+)' AND '([0-9-]+)'");
+    private static final Pattern CAMPAIGN = Pattern.compile("campaign\\.id = (\\d+)");
+
+    static final long FIRST_ACCOUNT = 100;
+
+    private final SyntheticMetrics data;
+    private final int accounts;
+    private final Duration latency;
+    private final int pageSize;
+
+    FakeGoogleAdsServiceStub(SyntheticMetrics data, int accounts, Duration latency, int pageSize) {
+        this.data = data;
+        this.accounts = accounts;
+        this.latency = latency;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public ServerStreamingCallable<SearchGoogleAdsStreamRequest, SearchGoogleAdsStreamResponse> searchStreamCallable() {
+        return new ServerStreamingCallable<>() {
+            @Override
+            public void call(SearchGoogleAdsStreamRequest request,
+                             ResponseObserver<SearchGoogleAdsStreamResponse> observer,
+                             ApiCallContext context) {
+                FlowControl flow = new FlowControl();
+                observer.onStart(flow);
+                Thread.ofVirtual().name("fake-google-ads-stream").start(() -> {
+                    try {
+                        Thread.sleep(latency);
+                        Pager pager = new Pager(observer, flow);
+                        answer(Long.parseLong(request.getCustomerId()), request.getQuery(), pager);
+                        pager.finish();
+                        observer.onComplete();
+                    } catch (InterruptedException | CancellationSignal e) {
+                        // consumer went away
+                    } catch (RuntimeException e) {
+                        observer.onError(e);
+                    }
+                });
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+
+    @Override
+    public void shutdownNow() {
+    }
+
+    @Override
+    public boolean awaitTermination(long duration, TimeUnit unit) {
+        return true;
+    }
+
+    private void answer(long customerId, String query, Pager pager) throws InterruptedException {
+        if (query.contains("FROM customer_client")) {
+            for (long account = FIRST_ACCOUNT; account < FIRST_ACCOUNT + accounts; account++) {
+                pager.add(GoogleAdsRow.newBuilder()
+                        .setCustomerClient(CustomerClient.newBuilder().setId(account))
+                        .build());
+            }
+            return;
+        }
+
+        Matcher dates = DATES.matcher(query);
+        if (!dates.find()) {
+            // the campaign list
+            for (com.premiergroup.ad_metrics_hub.entity.Campaign c : data.campaigns()) {
+                if (accountOf(c) != customerId) {
+                    continue;
+                }
+                pager.add(GoogleAdsRow.newBuilder()
+                        .setCampaign(campaign(c)
+                                .setName(c.getName())
+                                .setStatus(CampaignStatus.valueOf(c.getStatus())))
+                        .build());
+            }
+            return;
+        }
+
+        LocalDate from = LocalDate.parse(dates.group(1));
+        LocalDate to = LocalDate.parse(dates.group(2));
+        Matcher campaign = CAMPAIGN.matcher(query);
+        String only = campaign.find() ? campaign.group(1) : null;
+        for (com.premiergroup.ad_metrics_hub.entity.Campaign c : data.campaigns()) {
+            if (accountOf(c) != customerId || only != null && !only.equals(c.getCampaignId())) {
+                continue;
+            }
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                CampaignMetric row = data.row(c, day);
+                if (row != null) {
+                    pager.add(metricsRow(c, row));
+                }
+            }
+        }
+    }
+
+    private long accountOf(com.premiergroup.ad_metrics_hub.entity.Campaign c) {
+        return FIRST_ACCOUNT + c.getId() % accounts;
+    }
+
+    private static GoogleAdsRow metricsRow(com.premiergroup.ad_metrics_hub.entity.Campaign c, CampaignMetric row) {
+        long costMicros = row.getCost().movePointRight(6).longValueExact();
+        double conversionValue = row.getConversions() * 25.0;
+        return GoogleAdsRow.newBuilder()
+                .setCampaign(campaign(c))
+                .setSegments(Segments.newBuilder().setDate(row.getStatsDate().toString()))
+                .setMetrics(Metrics.newBuilder()
+                        .setClicks(row.getClicks())
+                        .setImpressions(row.getImpressions())
+                        .setCostMicros(costMicros)
+                        .setCtr((double) row.getClicks() / row.getImpressions())
+                        .setAverageCpc(row.getClicks() > 0 ? (double) costMicros / row.getClicks() : 0)
+                        .setConversions(row.getConversions())
+                        .setCostPerConversion(row.getConversions() > 0 ? (double) costMicros / row.getConversions() : 0)
+                        .setAllConversions(row.getConversions())
+                        .setAllConversionsValue(conversionValue)
+                        .setValuePerConversion(row.getConversions() > 0 ? 25.0 : 0))
+                .build();
+    }
+
+    private static Campaign.Builder campaign(com.premiergroup.ad_metrics_hub.entity.Campaign c) {
+        return Campaign.newBuilder().setId(Long.parseLong(c.getCampaignId()));
+    }
+
+    /**
+     * Groups rows into responses and sends each one once the consumer has asked for it.
+     */
+    private final class Pager {
+
+        private final ResponseObserver<SearchGoogleAdsStreamResponse> observer;
+        private final FlowControl flow;
+        private SearchGoogleAdsStreamResponse.Builder page = SearchGoogleAdsStreamResponse.newBuilder();
+
+        Pager(ResponseObserver<SearchGoogleAdsStreamResponse> observer, FlowControl flow) {
+            this.observer = observer;
+            this.flow = flow;
+        }
+
+        void add(GoogleAdsRow row) throws InterruptedException {
+            page.addResults(row);
+            if (page.getResultsCount() == pageSize) {
+                send();
+            }
+        }
+
+        void finish() throws InterruptedException {
+            if (page.getResultsCount() > 0) {
+                send();
+            }
+        }
+
+        private void send() throws InterruptedException {
+            flow.awaitDemand();
+            observer.onResponse(page.build());
+            page = SearchGoogleAdsStreamResponse.newBuilder();
+        }
+    }
+
+    /**
+     * Demand signalled by the consumer: unlimited until it disables automatic flow control, then
+     * one response per {@link #request(int)}ed message.
+     */
+    private static final class FlowControl implements StreamController {
+
+        private final Semaphore demand = new Semaphore(0);
+        private volatile boolean automatic = true;
+        private volatile boolean cancelled;
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+            automatic = false;
+        }
+
+        @Override
+        public void request(int count) {
+            demand.release(count);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            demand.release();
+        }
+
+        void awaitDemand() throws InterruptedException {
+            if (!automatic) {
+                demand.acquire();
+            }
+            if (cancelled) {
+                throw new CancellationSignal();
+            }
+        }
+    }
+
+    private static final class CancellationSignal extends RuntimeException {
+
+        CancellationSignal() {
+            super(null, null, false, false);
+        }
+    }
+}
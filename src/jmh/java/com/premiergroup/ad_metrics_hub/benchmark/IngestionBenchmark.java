@@ -0,0 +1,198 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.premiergroup.ad_metrics_hub.AdMetricsHubApplication;
+import com.premiergroup.ad_metrics_hub.service.BingAdsAPIService;
+import com.premiergroup.ad_metrics_hub.service.ChannelSyncService;
+import com.premiergroup.ad_metrics_hub.service.GoogleAdsAPIService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end ingestion run: boots the application against an in-memory H2 database in MySQL
+ * mode, with {@link FakeGoogleAdsConfig} and {@link FakeBingAdsConfig} standing in for the ad
+ * platforms, and drives each channel's {@link ChannelSyncService} through one metrics sync.
+ * Reports rows per second, SQL statements executed and peak heap for each channel.
+ * <p>
+ * Options, as {@code --name=value} arguments:
+ * <ul>
+ *     <li>{@code benchmark.channels}: {@code google}, {@code bing} or both (default)</li>
+ *     <li>{@code benchmark.campaigns}, {@code benchmark.days}: data set size; about 7 in 8 campaign
+ *     days have a row</li>
+ *     <li>{@code benchmark.accounts}: Google Ads client accounts the campaigns are spread over;
+ *     {@code ads.ingestion.bing.account-ids} does the same for Bing</li>
+ *     <li>{@code benchmark.latency-ms}: delay before each API response stream or report file</li>
+ *     <li>{@code benchmark.page-size}: rows per Google stream response</li>
+ * </ul>
+ * Any {@code ads.*} property can be overridden the same way, e.g. {@code --ads.ingestion.google.mode=CAMPAIGN}.
+ * Rollups stay disabled: their refresh uses MySQL date arithmetic H2 does not support.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec@ingestion [-Dingestion.args="--benchmark.days=730"]}.
+ */
+public final class IngestionBenchmark {
+
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("benchmark.channels", "google,bing"),
+            Map.entry("benchmark.campaigns", "100"),
+            Map.entry("benchmark.days", "365"),
+            Map.entry("benchmark.accounts", "4"),
+            Map.entry("benchmark.latency-ms", "50"),
+            Map.entry("benchmark.page-size", "10000"),
+            Map.entry("spring.datasource.url", "jdbc:h2:mem:ingestion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+            Map.entry("spring.datasource.username", "sa"),
+            Map.entry("spring.datasource.password", ""),
+            Map.entry("spring.jpa.hibernate.ddl-auto", "none"),
+            Map.entry("spring.sql.init.mode", "always"),
+            Map.entry("spring.sql.init.schema-locations", "classpath:benchmark/ingestion-schema.sql,classpath:squema.sql"),
+            Map.entry("spring.main.allow-bean-definition-overriding", "true"),
+            Map.entry("spring.main.banner-mode", "off"),
+            Map.entry("logging.level.root", "WARN"),
+            Map.entry("ads.rollups.enabled", "false"),
+            Map.entry("google.ads.developer-token", "benchmark"),
+            Map.entry("google.ads.credentials-json", "{}"),
+            Map.entry("google.ads.mcc-customer-id", "1"),
+            Map.entry("google.ads.customer-id", "100"),
+            Map.entry("bingads.client-id", "benchmark"),
+            Map.entry("bingads.client-secret", "benchmark"),
+            Map.entry("bingads.redirect-uri", "http://localhost"),
+            Map.entry("bingads.refresh-token", "benchmark"),
+            Map.entry("bingads.developer-token", "benchmark"),
+            Map.entry("bingads.customer-id", "1"),
+            Map.entry("bingads.account-id", "1"),
+            Map.entry("ads.ingestion.bing.account-ids", "1,2,3,4")
+    );
+
+    private static final Map<String, Class<? extends ChannelSyncService>> CHANNELS = new LinkedHashMap<>();
+
+    static {
+        CHANNELS.put("google", GoogleAdsAPIService.class);
+        CHANNELS.put("bing", BingAdsAPIService.class);
+    }
+
+    private IngestionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                AdMetricsHubApplication.class, FakeGoogleAdsConfig.class, FakeBingAdsConfig.class)
+                .web(WebApplicationType.NONE)
+                .run(withDefaults(args))) {
+
+            Environment env = context.getEnvironment();
+            int days = env.getRequiredProperty("benchmark.days", Integer.class);
+            LocalDate start = END.minusDays(days - 1);
+            List<String> channels = List.of(env.getRequiredProperty("benchmark.channels", String[].class));
+
+            System.out.printf("%d campaigns, %d days (%s to %s), %s ms API latency%n",
+                    env.getRequiredProperty("benchmark.campaigns", Integer.class), days, start, END,
+                    env.getRequiredProperty("benchmark.latency-ms"));
+            System.out.printf("%-8s %10s %10s %12s %12s %10s %14s%n",
+                    "channel", "rows", "seconds", "rows/s", "statements", "batches", "peak heap MB");
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            for (String channel : channels) {
+                ChannelSyncService service = context.getBean(CHANNELS.get(channel));
+                int marketingChannelId = service.marketingChannelId();
+                service.syncCampaigns(marketingChannelId);
+
+                // 1) Clear the statement statistics and the meters of earlier runs
+                jdbc.execute("SET QUERY_STATISTICS FALSE");
+                jdbc.execute("SET QUERY_STATISTICS TRUE");
+                Counter written = registry.counter("ads.ingestion.rows.written");
+                Timer batches = registry.timer("ads.ingestion.db.write");
+                double rowsBefore = written.count();
+                long batchesBefore = batches.count();
+
+                // 2) One sync of the whole range
+                try (HeapSampler heap = new HeapSampler()) {
+                    long began = System.nanoTime();
+                    service.syncMetricsForDate(marketingChannelId, start, END);
+                    double seconds = (System.nanoTime() - began) / 1e9;
+
+                    // 3) Report, then the most executed statements
+                    long rows = (long) (written.count() - rowsBefore);
+                    Long statements = jdbc.queryForObject(
+                            "SELECT SUM(EXECUTION_COUNT) FROM INFORMATION_SCHEMA.QUERY_STATISTICS", Long.class);
+                    System.out.printf("%-8s %10d %10.2f %12.0f %12d %10d %14.1f%n",
+                            channel, rows, seconds, rows / seconds, statements, batches.count() - batchesBefore,
+                            heap.peak() / (1024.0 * 1024.0));
+                }
+                jdbc.query("""
+                                SELECT EXECUTION_COUNT, SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS
+                                ORDER BY EXECUTION_COUNT DESC LIMIT 5
+                                """,
+                        rs -> {
+                            String sql = rs.getString(2).replaceAll("\\s+", " ");
+                            System.out.printf("    %8d  %s%n",
+                                    rs.getLong(1), sql.length() > 100 ? sql.substring(0, 100) + "..." : sql);
+                        });
+            }
+        }
+    }
+
+    /**
+     * Appends the {@link #DEFAULTS} not given in {@code args}, as arguments so that they take
+     * precedence over application.properties.
+     */
+    private static String[] withDefaults(String[] args) {
+        List<String> all = new ArrayList<>(List.of(args));
+        DEFAULTS.forEach((name, value) -> {
+            if (all.stream().noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+                all.add("--" + name + "=" + value);
+            }
+        });
+        return all.toArray(String[]::new);
+    }
+
+    /**
+     * Samples heap usage every millisecond from a daemon thread and keeps the highest value seen.
+     */
+    private static final class HeapSampler implements AutoCloseable {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final Thread thread;
+        private volatile long peak;
+        private volatile boolean running = true;
+
+        HeapSampler() {
+            System.gc();
+            thread = Thread.ofPlatform().daemon().name("heap-sampler").start(() -> {
+                while (running) {
+                    peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        long peak() {
+            return Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+    }
+}
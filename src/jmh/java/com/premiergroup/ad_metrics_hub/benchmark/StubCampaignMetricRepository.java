@@ -0,0 +1,115 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.premiergroup.ad_metrics_hub.entity.Campaign;
+import com.premiergroup.ad_metrics_hub.repository.CampaignMetricRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CampaignMetricRepository} answering the dashboard aggregate queries from {@link SyntheticMetrics}.
+ * <p>
+ * Each distinct call is computed once and then replayed, so benchmarks measure the service's own
+ * aggregation and not the stub. Any other repository method throws.
+ */
+final class StubCampaignMetricRepository implements InvocationHandler {
+
+    private final SyntheticMetrics data;
+    private final Map<List<Object>, Object> answers = new ConcurrentHashMap<>();
+
+    private StubCampaignMetricRepository(SyntheticMetrics data) {
+        this.data = data;
+    }
+
+    static CampaignMetricRepository create(SyntheticMetrics data) {
+        return (CampaignMetricRepository) Proxy.newProxyInstance(
+                CampaignMetricRepository.class.getClassLoader(),
+                new Class<?>[]{CampaignMetricRepository.class},
+                new StubCampaignMetricRepository(data));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+        List<Object> key = new ArrayList<>(Arrays.asList(args));
+        key.add(0, method.getName());
+        return answers.computeIfAbsent(key, k -> answer(method.getName(), args));
+    }
+
+    private Object answer(String method, Object[] args) {
+        LocalDate start = (LocalDate) args[1];
+        LocalDate end = (LocalDate) args[2];
+        return switch (method) {
+            case "sumByDay" -> sumByDay(start, end, (LocalDate) args[3], (LocalDate) args[4]);
+            case "sumByMonth" -> sumByMonth(start, end, (LocalDate) args[3], (LocalDate) args[4]);
+            case "compareByCampaign" -> compareByCampaign(start, end, (LocalDate) args[3], (LocalDate) args[4]);
+            case "sumByCampaignAndDay" -> sumByCampaignAndDay(start, end);
+            case "sumByCampaignAndMonth" -> sumByCampaignAndMonth(start, end);
+            default -> throw new UnsupportedOperationException(method);
+        };
+    }
+
+    private List<StubTotals> sumByDay(LocalDate start, LocalDate end, LocalDate prevStart, LocalDate prevEnd) {
+        Map<LocalDate, StubTotals> days = new TreeMap<>();
+        for (LocalDate[] range : new LocalDate[][]{{prevStart, prevEnd}, {start, end}}) {
+            data.forEachRow(range[0], range[1], row -> days
+                    .computeIfAbsent(row.getStatsDate(), d -> new StubTotals().day(d))
+                    .add(row));
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    private List<StubTotals> sumByMonth(LocalDate start, LocalDate end, LocalDate prevStart, LocalDate prevEnd) {
+        Map<YearMonth, StubTotals> months = new TreeMap<>();
+        for (LocalDate[] range : new LocalDate[][]{{prevStart, prevEnd}, {start, end}}) {
+            data.forEachRow(range[0], range[1], row -> months
+                    .computeIfAbsent(YearMonth.from(row.getStatsDate()), m -> new StubTotals().month(m))
+                    .add(row));
+        }
+        return new ArrayList<>(months.values());
+    }
+
+    private List<StubTotals> compareByCampaign(LocalDate start, LocalDate end, LocalDate prevStart, LocalDate prevEnd) {
+        Map<Integer, StubTotals> campaigns = new TreeMap<>();
+        data.forEachRow(start, end, row -> totals(campaigns, row.getCampaign()).add(row));
+        data.forEachRow(prevStart, prevEnd, row -> totals(campaigns, row.getCampaign()).addPrevious(row));
+        return new ArrayList<>(campaigns.values());
+    }
+
+    private List<StubTotals> sumByCampaignAndDay(LocalDate start, LocalDate end) {
+        List<StubTotals> rows = new ArrayList<>();
+        data.forEachRow(start, end, row -> {
+            StubTotals totals = StubTotals.ofCampaign(row.getCampaign()).day(row.getStatsDate());
+            totals.add(row);
+            rows.add(totals);
+        });
+        return rows;
+    }
+
+    private List<StubTotals> sumByCampaignAndMonth(LocalDate start, LocalDate end) {
+        Map<List<Object>, StubTotals> rows = new LinkedHashMap<>();         // campaign, then month order
+        data.forEachRow(start, end, row -> {
+            YearMonth month = YearMonth.from(row.getStatsDate());
+            rows.computeIfAbsent(List.of(row.getCampaign().getId(), month),
+                            k -> StubTotals.ofCampaign(row.getCampaign()).month(month))
+                    .add(row);
+        });
+        return new ArrayList<>(rows.values());
+    }
+
+    private static StubTotals totals(Map<Integer, StubTotals> campaigns, Campaign campaign) {
+        return campaigns.computeIfAbsent(campaign.getId(), id -> StubTotals.ofCampaign(campaign));
+    }
+}
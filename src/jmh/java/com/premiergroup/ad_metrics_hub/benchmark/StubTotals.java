@@ -0,0 +1,70 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.premiergroup.ad_metrics_hub.entity.Campaign;
+import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignDailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyMetricTotals;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * In-memory stand-in for every aggregate projection, summed the way the repository queries sum.
+ */
+@Getter
+final class StubTotals implements CampaignComparisonTotals, CampaignDailyMetricTotals, CampaignMonthlyMetricTotals {
+
+    private Integer campaignId;
+    private String campaignName;
+    private String campaignStatus;
+    private LocalDate statsDate;
+    private Integer statsYear;
+    private Integer statsMonth;
+
+    private Long currentRows = 0L;
+    private Long impressions = 0L;
+    private Long clicks = 0L;
+    private Long conversions = 0L;
+    private BigDecimal cost = BigDecimal.ZERO;
+    private Long prevImpressions = 0L;
+    private Long prevClicks = 0L;
+    private Long prevConversions = 0L;
+    private BigDecimal prevCost = BigDecimal.ZERO;
+
+    static StubTotals ofCampaign(Campaign campaign) {
+        StubTotals totals = new StubTotals();
+        totals.campaignId = campaign.getId();
+        totals.campaignName = campaign.getName();
+        totals.campaignStatus = campaign.getStatus();
+        return totals;
+    }
+
+    StubTotals day(LocalDate date) {
+        statsDate = date;
+        return this;
+    }
+
+    StubTotals month(YearMonth month) {
+        statsYear = month.getYear();
+        statsMonth = month.getMonthValue();
+        return this;
+    }
+
+    void add(CampaignMetric row) {
+        currentRows++;
+        impressions += row.getImpressions();
+        clicks += row.getClicks();
+        conversions += row.getConversions();
+        cost = cost.add(row.getCost());
+    }
+
+    void addPrevious(CampaignMetric row) {
+        prevImpressions += row.getImpressions();
+        prevClicks += row.getClicks();
+        prevConversions += row.getConversions();
+        prevCost = prevCost.add(row.getCost());
+    }
+}
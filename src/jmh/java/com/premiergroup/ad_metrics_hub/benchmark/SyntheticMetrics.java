@@ -0,0 +1,78 @@
+package com.premiergroup.ad_metrics_hub.benchmark;
+
+import com.premiergroup.ad_metrics_hub.entity.Campaign;
+import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic {@link CampaignMetric} rows for a number of campaigns of one channel.
+ * <p>
+ * Rows are regenerated on every pass instead of being held in memory: each (campaign, day) pair
+ * seeds its own generator, so any date range yields the same rows every time. About one day in
+ * eight has no row, so series are sparse the way real accounts are.
+ */
+public final class SyntheticMetrics {
+
+    public static final int MARKETING_CHANNEL_ID = 1;
+
+    private final List<Campaign> campaigns;
+
+    public SyntheticMetrics(int campaignCount) {
+        this.campaigns = new ArrayList<>(campaignCount);
+        for (int c = 1; c <= campaignCount; c++) {
+            campaigns.add(Campaign.builder()
+                    .id(c)
+                    .campaignId(String.valueOf(9_000_000_000L + c))
+                    .name("Campaign " + c)
+                    .status(c % 5 == 0 ? "PAUSED" : "ENABLED")
+                    .build());
+        }
+    }
+
+    public List<Campaign> campaigns() {
+        return campaigns;
+    }
+
+    /**
+     * Calls {@code action} for every row in [from, to], campaign by campaign and day by day.
+     */
+    public void forEachRow(LocalDate from, LocalDate to, Consumer<CampaignMetric> action) {
+        for (Campaign campaign : campaigns) {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                CampaignMetric row = row(campaign, day);
+                if (row != null) {
+                    action.accept(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * The row of a campaign and day, or null when the campaign had no traffic that day.
+     */
+    public CampaignMetric row(Campaign campaign, LocalDate day) {
+        SplittableRandom random = new SplittableRandom(campaign.getId() * 1_000_003L + day.toEpochDay());
+        if (random.nextInt(8) == 0) {
+            return null;
+        }
+        int impressions = random.nextInt(50, 5_000);
+        int clicks = random.nextInt(impressions / 10 + 1);
+        int conversions = random.nextInt(clicks / 5 + 1);
+        BigDecimal cost = BigDecimal.valueOf(clicks * (long) random.nextInt(20, 300), 2);
+        return CampaignMetric.builder()
+                .campaign(campaign)
+                .marketingChannelId(MARKETING_CHANNEL_ID)
+                .statsDate(day)
+                .impressions(impressions)
+                .clicks(clicks)
+                .conversions(conversions)
+                .cost(cost)
+                .build();
+    }
+}
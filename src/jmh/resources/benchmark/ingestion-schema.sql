@@ -0,0 +1,12 @@
+-- Tabla de canales para la base H2 del benchmark de ingesta; en produccion ya existe
+CREATE TABLE marketing_channels (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    source_name VARCHAR(100),
+    is_active BOOLEAN,
+    url VARCHAR(255),
+    date_create DATETIME
+);
+
+INSERT INTO marketing_channels (id, source_name, is_active, url, date_create) VALUES
+    (1, 'Google Ads', TRUE, 'https://ads.google.com', CURRENT_TIMESTAMP),
+    (5, 'Bing Ads', TRUE, 'https://ads.microsoft.com', CURRENT_TIMESTAMP);
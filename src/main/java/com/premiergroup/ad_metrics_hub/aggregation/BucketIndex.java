@@ -0,0 +1,60 @@
+package com.premiergroup.ad_metrics_hub.aggregation;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Maps stats dates onto dense offsets from the start of a window, one bucket per day or per month.
+ */
+public final class BucketIndex {
+
+    private final LocalDate start;
+    private final boolean monthly;
+    private final long startKey;
+    private final int size;
+
+    public BucketIndex(LocalDate start, LocalDate end, boolean monthly) {
+        this.start = start;
+        this.monthly = monthly;
+        this.startKey = key(start, monthly);
+        this.size = Math.max(0, Math.toIntExact(key(end, monthly) - startKey + 1));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Every offset of the window, in ascending order.
+     */
+    public int[] allOffsets() {
+        int[] offsets = new int[size];
+        for (int b = 0; b < size; b++) {
+            offsets[b] = b;
+        }
+        return offsets;
+    }
+
+    /**
+     * Offset of the bucket holding {@code date}, or -1 when it falls outside the window.
+     */
+    public int offsetOf(LocalDate date) {
+        long offset = key(date, monthly) - startKey;
+        return offset >= 0 && offset < size ? (int) offset : -1;
+    }
+
+    /**
+     * Label of a bucket, formatted like {@link LocalDate#toString()} or {@link YearMonth#toString()}.
+     */
+    public String label(int offset) {
+        return monthly
+                ? YearMonth.from(start).plusMonths(offset).toString()
+                : start.plusDays(offset).toString();
+    }
+
+    private static long key(LocalDate date, boolean monthly) {
+        return monthly
+                ? date.getYear() * 12L + date.getMonthValue() - 1
+                : date.toEpochDay();
+    }
+}
@@ -0,0 +1,45 @@
+package com.premiergroup.ad_metrics_hub.aggregation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense slots to campaigns in first-seen order, so their metrics can live in
+ * {@link MetricColumns} arrays instead of per-campaign collections.
+ */
+public final class CampaignIndex<K> {
+
+    private final Map<K, Integer> slots = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> statuses = new ArrayList<>();
+
+    /**
+     * Slot of an already indexed campaign, or -1.
+     */
+    public int find(K key) {
+        Integer slot = slots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    public int add(K key, String name, String status) {
+        int slot = names.size();
+        slots.put(key, slot);
+        names.add(name);
+        statuses.add(status);
+        return slot;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String name(int slot) {
+        return names.get(slot);
+    }
+
+    public String status(int slot) {
+        return statuses.get(slot);
+    }
+}
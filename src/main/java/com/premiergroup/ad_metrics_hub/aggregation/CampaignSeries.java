@@ -0,0 +1,110 @@
+package com.premiergroup.ad_metrics_hub.aggregation;
+
+import com.premiergroup.ad_metrics_hub.enums.MetricFilter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * One metric per campaign and bucket of a window, plus each campaign's totals, filled in a single pass.
+ */
+public final class CampaignSeries<K> {
+
+    private final BucketIndex buckets;
+    private final MetricFilter metric;
+    private final CampaignIndex<K> campaigns = new CampaignIndex<>();
+    private final MetricColumns totals = new MetricColumns(16);
+    private final List<long[]> series = new ArrayList<>();
+    private final boolean[] hasData;
+
+    public CampaignSeries(BucketIndex buckets, MetricFilter metric) {
+        this.buckets = buckets;
+        this.metric = metric;
+        this.hasData = new boolean[buckets.size()];
+    }
+
+    public void add(K key, String name, LocalDate date,
+                    long impressions, long clicks, long conversions, long costMicros) {
+        int slot = campaigns.find(key);
+        if (slot < 0) {
+            slot = campaigns.add(key, name, null);
+            series.add(new long[buckets.size()]);
+        }
+        int bucket = buckets.offsetOf(date);
+        series.get(slot)[bucket] += select(impressions, clicks, conversions);
+        hasData[bucket] = true;
+        totals.add(slot, impressions, clicks, conversions, costMicros);
+    }
+
+    public CampaignIndex<K> campaigns() {
+        return campaigns;
+    }
+
+    /**
+     * Buckets where at least one campaign has data, in ascending order.
+     */
+    public int[] bucketsWithData() {
+        int[] offsets = new int[hasData.length];
+        int n = 0;
+        for (int b = 0; b < hasData.length; b++) {
+            if (hasData[b]) {
+                offsets[n++] = b;
+            }
+        }
+        return Arrays.copyOf(offsets, n);
+    }
+
+    /**
+     * Every campaign slot, in first-seen order.
+     */
+    public int[] allCampaigns() {
+        int[] slots = new int[campaigns.size()];
+        for (int c = 0; c < slots.length; c++) {
+            slots[c] = c;
+        }
+        return slots;
+    }
+
+    /**
+     * The {@code n} campaigns with the highest {@link #total(int)}, highest first; ties keep first-seen order.
+     */
+    public int[] topCampaigns(int n) {
+        long[] totals = new long[campaigns.size()];
+        for (int c = 0; c < totals.length; c++) {
+            totals[c] = total(c);
+        }
+        return IntStream.range(0, totals.length)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer c) -> totals[c]).reversed())   // stable: ties keep slot order
+                .limit(n)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    public long value(int campaign, int bucket) {
+        return series.get(campaign)[bucket];
+    }
+
+    /**
+     * The selected metric summed over the whole window.
+     */
+    public long total(int campaign) {
+        return select(totals.impressions(campaign), totals.clicks(campaign), totals.conversions(campaign));
+    }
+
+    public long costMicros(int campaign) {
+        return totals.costMicros(campaign);
+    }
+
+    private long select(long impressions, long clicks, long conversions) {
+        return switch (metric) {
+            case CLICKS -> clicks;
+            case IMPRESSIONS -> impressions;
+            case CONVERSIONS -> conversions;
+        };
+    }
+}
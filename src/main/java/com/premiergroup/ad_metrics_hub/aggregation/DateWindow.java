@@ -0,0 +1,54 @@
+package com.premiergroup.ad_metrics_hub.aggregation;
+
+import com.premiergroup.ad_metrics_hub.enums.DateFilter;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.LocalDate;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Resolved reporting window of a dashboard request, and whether it is bucketed by month.
+ */
+@Log4j2
+public record DateWindow(LocalDate start, LocalDate end, boolean monthly) {
+
+    public static DateWindow resolve(DateFilter dateRange, String startDate, String endDate) {
+        LocalDate start = dateRange.getStartDate();
+        LocalDate end = dateRange.getEndDate();
+        boolean isMonthlyGroup = "MONTH".equals(dateRange.getType());
+
+        if (dateRange.equals(DateFilter.CUSTOM)) {
+            try {
+                start = LocalDate.parse(startDate);
+                end = LocalDate.parse(endDate);
+                isMonthlyGroup = DAYS.between(start, end) > 60;
+            } catch (Exception e) {
+                log.error("Invalid date format for custom date range: {} to {}", startDate, endDate, e);
+                throw new IllegalArgumentException("Invalid date format for custom date range");
+            }
+        }
+        return new DateWindow(start, end, isMonthlyGroup);
+    }
+
+    /**
+     * Window of the same length that ends the day before this one starts.
+     */
+    public DateWindow precedingPeriod() {
+        long days = DAYS.between(start, end) + 1;
+        LocalDate prevEnd = start.minusDays(1);
+        return new DateWindow(prevEnd.minusDays(days - 1), prevEnd, monthly);
+    }
+
+    /**
+     * The whole calendar year before the year this window starts in.
+     */
+    public DateWindow previousYear() {
+        LocalDate prevStart = start.minusYears(1).withDayOfYear(1);
+        return new DateWindow(prevStart, prevStart.withDayOfYear(prevStart.lengthOfYear()), monthly);
+    }
+
+    public BucketIndex buckets() {
+        return new BucketIndex(start, end, monthly);
+    }
+}
@@ -0,0 +1,117 @@
+package com.premiergroup.ad_metrics_hub.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented sums of the core metrics, one slot per bucket or per campaign.
+ * <p>
+ * Rows are folded in with a single {@link #add} call each, straight into primitive arrays;
+ * cost is kept in {@link Micros} and only turned into a {@code BigDecimal} by the caller.
+ * Slots that never received a row are reported as absent, so callers can keep sparse labels.
+ */
+public final class MetricColumns {
+
+    private long[] impressions;
+    private long[] clicks;
+    private long[] conversions;
+    private long[] costMicros;
+    private boolean[] present;
+    private int size;
+
+    private long totalImpressions;
+    private long totalClicks;
+    private long totalConversions;
+    private long totalCostMicros;
+
+    public MetricColumns(int capacity) {
+        int initial = Math.max(capacity, 1);
+        impressions = new long[initial];
+        clicks = new long[initial];
+        conversions = new long[initial];
+        costMicros = new long[initial];
+        present = new boolean[initial];
+    }
+
+    public void add(int slot, long impressions, long clicks, long conversions, long costMicros) {
+        if (slot >= present.length) {
+            grow(slot + 1);
+        }
+        this.impressions[slot] += impressions;
+        this.clicks[slot] += clicks;
+        this.conversions[slot] += conversions;
+        this.costMicros[slot] += costMicros;
+        present[slot] = true;
+        size = Math.max(size, slot + 1);
+
+        totalImpressions += impressions;
+        totalClicks += clicks;
+        totalConversions += conversions;
+        totalCostMicros += costMicros;
+    }
+
+    /**
+     * One past the highest slot that received a row.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isPresent(int slot) {
+        return slot < size && present[slot];
+    }
+
+    /**
+     * Slots that received at least one row, in ascending order.
+     */
+    public int[] presentSlots() {
+        int[] slots = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (present[i]) {
+                slots[n++] = i;
+            }
+        }
+        return n == size ? slots : Arrays.copyOf(slots, n);
+    }
+
+    public long impressions(int slot) {
+        return slot < size ? impressions[slot] : 0;
+    }
+
+    public long clicks(int slot) {
+        return slot < size ? clicks[slot] : 0;
+    }
+
+    public long conversions(int slot) {
+        return slot < size ? conversions[slot] : 0;
+    }
+
+    public long costMicros(int slot) {
+        return slot < size ? costMicros[slot] : 0;
+    }
+
+    public long totalImpressions() {
+        return totalImpressions;
+    }
+
+    public long totalClicks() {
+        return totalClicks;
+    }
+
+    public long totalConversions() {
+        return totalConversions;
+    }
+
+    public long totalCostMicros() {
+        return totalCostMicros;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, present.length * 2);
+        impressions = Arrays.copyOf(impressions, capacity);
+        clicks = Arrays.copyOf(clicks, capacity);
+        conversions = Arrays.copyOf(conversions, capacity);
+        costMicros = Arrays.copyOf(costMicros, capacity);
+        present = Arrays.copyOf(present, capacity);
+    }
+}
@@ -0,0 +1,104 @@
+package com.premiergroup.ad_metrics_hub.aggregation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on plain {@code long}s, for money amounts and ratios.
+ * <p>
+ * Amounts are held in millionths of the currency unit ("micros"), the unit both ad platforms
+ * report cost in, so sums are exact and need no allocation. Quotients are computed at the scale
+ * they are shown with and rounded {@link RoundingMode#HALF_UP} once, the same result as the
+ * equivalent {@link BigDecimal#divide(BigDecimal, int, RoundingMode)}; {@link BigDecimal}s are
+ * only created at the DTO and JDBC boundaries.
+ */
+public final class Micros {
+
+    /**
+     * Decimal places of a micros amount.
+     */
+    public static final int SCALE = 6;
+
+    /**
+     * One currency unit, in micros.
+     */
+    public static final long ONE = 1_000_000L;
+
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L
+    };
+
+    private Micros() {
+    }
+
+    /**
+     * Ten to the power {@code exponent}, for exponents from 0 to {@value #SCALE}.
+     */
+    public static long pow10(int exponent) {
+        return POW10[exponent];
+    }
+
+    /**
+     * The amount in micros, rounding anything below a millionth.
+     */
+    public static long of(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * The exact amount, with {@value #SCALE} decimal places.
+     */
+    public static BigDecimal toDecimal(long micros) {
+        return BigDecimal.valueOf(micros, SCALE);
+    }
+
+    /**
+     * The amount rounded to {@code scale} decimal places, at most {@value #SCALE}.
+     */
+    public static BigDecimal toDecimal(long micros, int scale) {
+        return BigDecimal.valueOf(divide(micros, POW10[SCALE - scale]), scale);
+    }
+
+    /**
+     * {@code dividend / divisor} as an unscaled value with {@code scale} decimal places, for two
+     * values in the same unit (a rate, or a change relative to {@code divisor}).
+     */
+    public static long ratio(long dividend, long divisor, int scale) {
+        return multiplyDivide(dividend, POW10[scale], divisor);
+    }
+
+    /**
+     * An amount in micros divided by a count, as an unscaled value with {@code scale} decimal places.
+     */
+    public static long perUnit(long micros, long count, int scale) {
+        return divide(micros, Math.multiplyExact(count, POW10[SCALE - scale]));
+    }
+
+    /**
+     * {@code a * b / divisor}, rounded half up, falling back to {@link BigDecimal} only when the
+     * product overflows.
+     */
+    private static long multiplyDivide(long a, long b, long divisor) {
+        long product;
+        try {
+            product = Math.multiplyExact(a, b);
+        } catch (ArithmeticException overflow) {
+            return BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        }
+        return divide(product, divisor);
+    }
+
+    /**
+     * {@code dividend / divisor}, rounded half up (ties away from zero).
+     */
+    private static long divide(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= Math.abs(divisor) - remainder) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+}
@@ -1,6 +1,10 @@
 package com.premiergroup.ad_metrics_hub.config;
 
 import com.google.ads.googleads.lib.GoogleAdsClient;
+import com.google.ads.googleads.v20.services.GoogleAdsServiceClient;
+import com.google.ads.googleads.v20.services.GoogleAdsServiceSettings;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.auth.oauth2.ServiceAccountCredentials;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +14,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 
 @Configuration(proxyBeanMethods = false)
@@ -45,4 +50,41 @@ public class GoogleAdsConfig {
                     .build();
         }
     }
+
+    /**
+     * The one GoogleAdsService client every Google Ads call goes through, closed with the context.
+     * <p>
+     * Each client the library creates opens its own gRPC channel, so creating one per call paid for
+     * a new connection and TLS handshake every time. This one keeps a fixed pool of
+     * {@code ads.ingestion.google.channel-pool-size} channels, with keepalive pings every
+     * {@code ads.ingestion.google.keepalive-seconds} so idle connections between syncs survive.
+     * Its settings (endpoint, credentials, headers, interceptors) are those of a client built by
+     * {@link GoogleAdsClient}, with only the channel provider replaced.
+     */
+    @Bean(destroyMethod = "close")
+    public GoogleAdsServiceClient googleAdsServiceClient(
+            GoogleAdsClient googleAdsClient,
+            @Value("${ads.ingestion.google.channel-pool-size}") int channelPoolSize,
+            @Value("${ads.ingestion.google.keepalive-seconds}") long keepAliveSeconds
+    ) throws IOException {
+
+        // 1) the library's own settings, read from a short-lived client
+        GoogleAdsServiceSettings settings;
+        try (GoogleAdsServiceClient template = googleAdsClient.getLatestVersion().createGoogleAdsServiceClient()) {
+            settings = template.getSettings();
+        }
+
+        // 2) same channel provider, pooled and with keepalive
+        if (!(settings.getTransportChannelProvider() instanceof InstantiatingGrpcChannelProvider channels)) {
+            return GoogleAdsServiceClient.create(settings);
+        }
+        InstantiatingGrpcChannelProvider pooled = channels.toBuilder()
+                .setChannelPoolSettings(ChannelPoolSettings.staticallySized(channelPoolSize))
+                .setKeepAliveTimeDuration(Duration.ofSeconds(keepAliveSeconds))
+                .setKeepAliveWithoutCalls(true)
+                .build();
+        return GoogleAdsServiceClient.create(settings.toBuilder()
+                .setTransportChannelProvider(pooled)
+                .build());
+    }
 }
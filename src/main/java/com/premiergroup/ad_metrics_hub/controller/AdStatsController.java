@@ -1,102 +1,189 @@
 package com.premiergroup.ad_metrics_hub.controller;
 
-import com.microsoft.bingads.v13.campaignmanagement.AdApiFaultDetail_Exception;
-import com.microsoft.bingads.v13.campaignmanagement.ApiFaultDetail_Exception;
+import com.premiergroup.ad_metrics_hub.dto.BackfillJobStatus;
 import com.premiergroup.ad_metrics_hub.dto.CampaignAdsStatsGraph;
 import com.premiergroup.ad_metrics_hub.dto.CampaignAdsStatsTableRow;
+import com.premiergroup.ad_metrics_hub.dto.DashboardAdsStats;
+import com.premiergroup.ad_metrics_hub.dto.DashboardCacheStats;
 import com.premiergroup.ad_metrics_hub.dto.WidgetAdsStats;
 import com.premiergroup.ad_metrics_hub.enums.DateFilter;
 import com.premiergroup.ad_metrics_hub.enums.MetricFilter;
+import com.premiergroup.ad_metrics_hub.enums.TableSort;
 import com.premiergroup.ad_metrics_hub.service.AdStatsService;
-import com.premiergroup.ad_metrics_hub.service.BingAdsAPIService;
-import com.premiergroup.ad_metrics_hub.service.GoogleAdsAPIService;
+import com.premiergroup.ad_metrics_hub.service.BackfillService;
+import com.premiergroup.ad_metrics_hub.service.DashboardCache;
+import com.premiergroup.ad_metrics_hub.service.DashboardExecutor;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/ads")
 @RequiredArgsConstructor
 public class AdStatsController {
 
-    private final AdStatsService adStatsService;
-    private final GoogleAdsAPIService googleAdsAPIService;
-    private final BingAdsAPIService bingAdsAPIService;
+    private static final int MAX_TABLE_PAGE_SIZE = 1000;
 
-    @Value("${google.ads.customer-id}")
-    private long customerId;
+    private final AdStatsService adStatsService;
+    private final BackfillService backfillService;
+    private final DashboardCache dashboardCache;
+    private final DashboardExecutor dashboardExecutor;
 
     @GetMapping("/widget-ads-stats")
-    public ResponseEntity<WidgetAdsStats> getSWidgetAdsStats(
+    public CompletableFuture<ResponseEntity<WidgetAdsStats>> getSWidgetAdsStats(
             @RequestParam Integer marketingChannelId,
             @RequestParam DateFilter dateRange,
             @RequestParam String startDate,
             @RequestParam String endDate
     ) {
         //TODO GET STATS FROM DEVICES
-        WidgetAdsStats widgetStats = adStatsService.getSWidgetAdsStats(marketingChannelId, dateRange, startDate, endDate);
+        return dashboardExecutor.supply(() -> {
+            WidgetAdsStats widgetStats = adStatsService.getSWidgetAdsStats(marketingChannelId, dateRange, startDate, endDate);
 
-        if (widgetStats == null) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(widgetStats);
+            if (widgetStats == null) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(widgetStats);
+        });
     }
 
+    /**
+     * Per-campaign series of one metric. {@code top} keeps only the N campaigns with the highest
+     * total; {@code zeroFill} labels every day/month of the window instead of only those with data.
+     */
     @GetMapping("/campaign-ads-stats-graph")
-    public ResponseEntity<CampaignAdsStatsGraph> getCampaignAdsStatsGraph(
+    public CompletableFuture<ResponseEntity<CampaignAdsStatsGraph>> getCampaignAdsStatsGraph(
             @RequestParam Integer marketingChannelId,
             @RequestParam DateFilter dateRange,
             @RequestParam String startDate,
             @RequestParam String endDate,
-            @RequestParam MetricFilter metric
+            @RequestParam MetricFilter metric,
+            @RequestParam(required = false) @Positive(message = "top must be positive") Integer top,
+            @RequestParam(defaultValue = "false") boolean zeroFill
     ) {
-        CampaignAdsStatsGraph campaignAdsStatsGraph = adStatsService.getCampaignAdsStatsGraph(marketingChannelId, dateRange, startDate, endDate, metric);
-        if (campaignAdsStatsGraph == null) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(campaignAdsStatsGraph);
+        return dashboardExecutor.supply(() -> {
+            CampaignAdsStatsGraph campaignAdsStatsGraph = adStatsService.getCampaignAdsStatsGraph(
+                    marketingChannelId, dateRange, startDate, endDate, metric, top, zeroFill);
+            if (campaignAdsStatsGraph == null) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(campaignAdsStatsGraph);
+        });
     }
 
     @GetMapping("/campaign-ads-stats-table")
-    public ResponseEntity<List<CampaignAdsStatsTableRow>> getCampaignAdsStatsTable(
+    public CompletableFuture<ResponseEntity<List<CampaignAdsStatsTableRow>>> getCampaignAdsStatsTable(
             @RequestParam Integer marketingChannelId,
             @RequestParam DateFilter dateRange,
             @RequestParam String startDate,
             @RequestParam String endDate
     ) {
-        List<CampaignAdsStatsTableRow> campaignAdsStatsTableRowList = adStatsService.getCampaignAdsStatsTable(marketingChannelId, dateRange, startDate, endDate);
-        if (campaignAdsStatsTableRowList.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(campaignAdsStatsTableRowList);
+        return dashboardExecutor.supply(() -> {
+            List<CampaignAdsStatsTableRow> campaignAdsStatsTableRowList = adStatsService.getCampaignAdsStatsTable(marketingChannelId, dateRange, startDate, endDate);
+            if (campaignAdsStatsTableRowList.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(campaignAdsStatsTableRowList);
+        });
     }
 
     /**
-     * Trigger a manual sync of campaigns and metrics for the given customer ID.
+     * Widget, graph and table of one page load in a single response, from one shared read of the
+     * data; takes the graph's parameters. Each part is what its own endpoint would return, with
+     * an empty table where that endpoint answers 204.
      * <p>
-     * Example: POST api/ads/sync?customerId=123456678&marketingChannelId=1
+     * Example: GET api/ads/dashboard?marketingChannelId=1&dateRange=LAST_MONTH&...&metric=CLICKS&top=10
+     */
+    @GetMapping("/dashboard")
+    public CompletableFuture<ResponseEntity<DashboardAdsStats>> getDashboard(
+            @RequestParam Integer marketingChannelId,
+            @RequestParam DateFilter dateRange,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam MetricFilter metric,
+            @RequestParam(required = false) @Positive(message = "top must be positive") Integer top,
+            @RequestParam(defaultValue = "false") boolean zeroFill
+    ) {
+        return dashboardExecutor.supply(() -> ResponseEntity.ok(adStatsService.getDashboard(
+                marketingChannelId, dateRange, startDate, endDate, metric, top, zeroFill)));
+    }
+
+    /**
+     * Opt-in streaming form of the campaign table for large accounts: one page of rows, sorted in the
+     * database by any table column, written to the response as they are aggregated.
+     * <p>
+     * Example: GET api/ads/campaign-ads-stats-table/stream?...&sort=COST&direction=DESC&page=0&size=100
+     */
+    @GetMapping(value = "/campaign-ads-stats-table/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCampaignAdsStatsTable(
+            @RequestParam Integer marketingChannelId,
+            @RequestParam DateFilter dateRange,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "COST") TableSort sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") @PositiveOrZero(message = "page must not be negative") int page,
+            @RequestParam(defaultValue = "100")
+            @Positive(message = "size must be positive")
+            @Max(value = MAX_TABLE_PAGE_SIZE, message = "size must be at most " + MAX_TABLE_PAGE_SIZE)
+            int size
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(adStatsService.streamCampaignAdsStatsTable(
+                        marketingChannelId, dateRange, startDate, endDate, sort, direction, page, size));
+    }
+
+    /**
+     * Hit/miss/eviction counters of the dashboard response cache.
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<DashboardCacheStats> getCacheStats() {
+        return ResponseEntity.ok(dashboardCache.stats());
+    }
+
+    /**
+     * Starts a background sync of campaigns and metrics for the channel and returns its job;
+     * poll {@code GET api/ads/sync/{jobId}} for progress.
+     * <p>
+     * Example: POST api/ads/sync?marketingChannelId=1
      */
     @PostMapping("/sync")
-    public ResponseEntity<Void> syncCampaigns(
+    public ResponseEntity<BackfillJobStatus> syncCampaigns(
             @RequestParam("marketingChannelId")
             @Positive(message = "marketingChannelId must be positive")
-            int marketingChannelId) throws ApiFaultDetail_Exception, AdApiFaultDetail_Exception, ExecutionException, InterruptedException {
+            int marketingChannelId) {
 
-        if (1 == marketingChannelId) { //Google Ads
-            googleAdsAPIService.syncCampaignsAndMetrics(customerId, marketingChannelId);
-        } else if (5 == marketingChannelId) { //Bing Ads
-
-            bingAdsAPIService.syncCampaigns(marketingChannelId);
-            bingAdsAPIService.syncAllMetrics(marketingChannelId);
-        } else {
+        try {
+            return ResponseEntity.accepted().body(backfillService.submit(marketingChannelId));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
+    }
 
-        return ResponseEntity.ok().build();
+    @GetMapping("/sync/{jobId}")
+    public ResponseEntity<BackfillJobStatus> getSyncStatus(@PathVariable Integer jobId) {
+        return backfillService.status(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The dashboard pool and its queue are full.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> dashboardBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
     }
 }
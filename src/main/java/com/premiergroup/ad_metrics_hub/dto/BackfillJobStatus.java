@@ -0,0 +1,18 @@
+package com.premiergroup.ad_metrics_hub.dto;
+
+import com.premiergroup.ad_metrics_hub.enums.BackfillStatus;
+
+import java.time.LocalDate;
+
+public record BackfillJobStatus(
+        Integer jobId,
+        Integer marketingChannelId,
+        BackfillStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        long totalChunks,
+        long completedChunks,
+        long failedChunks,
+        String error
+) {
+}
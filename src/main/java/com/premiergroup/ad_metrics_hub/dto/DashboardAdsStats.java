@@ -0,0 +1,11 @@
+package com.premiergroup.ad_metrics_hub.dto;
+
+import java.util.List;
+
+public record DashboardAdsStats(
+        WidgetAdsStats widget,
+        CampaignAdsStatsGraph graph,
+        List<CampaignAdsStatsTableRow> table
+) {
+
+}
@@ -0,0 +1,11 @@
+package com.premiergroup.ad_metrics_hub.dto;
+
+public record DashboardCacheStats(
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions,
+        long invalidations
+) {
+}
@@ -0,0 +1,45 @@
+package com.premiergroup.ad_metrics_hub.entity;
+
+import com.premiergroup.ad_metrics_hub.enums.BackfillStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One date range of a {@link BackfillJob}, synced in its own transaction.
+ */
+@Entity
+@Table(name = "backfill_chunks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "backfill_jobs_id", nullable = false)
+    private Integer jobId;
+
+    @Column(name = "chunk_start", nullable = false)
+    private LocalDate chunkStart;
+
+    @Column(name = "chunk_end", nullable = false)
+    private LocalDate chunkEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BackfillStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    private String error;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,50 @@
+package com.premiergroup.ad_metrics_hub.entity;
+
+import com.premiergroup.ad_metrics_hub.enums.BackfillStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A historical load of one marketing channel, over all of its ad accounts, split into
+ * {@link BackfillChunk}s.
+ * <p>
+ * Jobs and chunks reference each other and the channel by plain ID columns: they are read and
+ * updated from worker threads, outside any persistence context that could load associations.
+ */
+@Entity
+@Table(name = "backfill_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "marketing_channels_id", nullable = false)
+    private Integer marketingChannelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BackfillStatus status;
+
+    // known once the job has been planned
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -12,11 +12,13 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 //@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-@EqualsAndHashCode(exclude = "metrics")
+// identity is the primary key: hashing must not touch the lazy channel or metrics
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = "metrics")
 public class Campaign {
 
     @Id
+    @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
@@ -24,6 +26,10 @@ public class Campaign {
     @JoinColumn(name = "marketing_channels_id", nullable = false)
     private MarketingChannel marketingChannel;
 
+    // ad account the campaign belongs to; campaignId is unique within it
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
     @Column(name = "campaign_id", nullable = false)
     private String campaignId;
 
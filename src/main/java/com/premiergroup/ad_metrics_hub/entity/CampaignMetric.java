@@ -25,6 +25,14 @@ public class CampaignMetric {
     @JoinColumn(name = "campaign_id", nullable = false)
     private Campaign campaign;
 
+    // copy of campaign.marketingChannel, so channel/date scans need neither the join nor the row
+    @Column(name = "marketing_channels_id", nullable = false)
+    private Integer marketingChannelId;
+
+    // copy of campaign.accountId
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
     @Column(name = "stats_date", nullable = false)
     private LocalDate statsDate;
 
@@ -0,0 +1,41 @@
+package com.premiergroup.ad_metrics_hub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Campaign totals per calendar month ({@code statsMonth} is the first day of the month).
+ */
+@Entity
+@Table(name = "campaign_monthly_metrics")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = {"campaign", "marketingChannel"})
+@ToString(exclude = {"campaign", "marketingChannel"})
+public class CampaignMonthlyMetric {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "campaign_id", nullable = false)
+    private Campaign campaign;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "marketing_channels_id", nullable = false)
+    private MarketingChannel marketingChannel;
+
+    @Column(name = "stats_month", nullable = false)
+    private LocalDate statsMonth;
+
+    private Long impressions;
+    private Long clicks;
+    private Long conversions;
+    private BigDecimal cost;
+}
@@ -0,0 +1,37 @@
+package com.premiergroup.ad_metrics_hub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Channel totals per day, maintained from {@code campaign_metrics} by the sync services.
+ */
+@Entity
+@Table(name = "channel_daily_metrics")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = "marketingChannel")
+@ToString(exclude = "marketingChannel")
+public class ChannelDailyMetric {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "marketing_channels_id", nullable = false)
+    private MarketingChannel marketingChannel;
+
+    @Column(name = "stats_date", nullable = false)
+    private LocalDate statsDate;
+
+    private Long impressions;
+    private Long clicks;
+    private Long conversions;
+    private BigDecimal cost;
+}
@@ -0,0 +1,37 @@
+package com.premiergroup.ad_metrics_hub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Channel totals per calendar month ({@code statsMonth} is the first day of the month).
+ */
+@Entity
+@Table(name = "channel_monthly_metrics")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = "marketingChannel")
+@ToString(exclude = "marketingChannel")
+public class ChannelMonthlyMetric {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "marketing_channels_id", nullable = false)
+    private MarketingChannel marketingChannel;
+
+    @Column(name = "stats_month", nullable = false)
+    private LocalDate statsMonth;
+
+    private Long impressions;
+    private Long clicks;
+    private Long conversions;
+    private BigDecimal cost;
+}
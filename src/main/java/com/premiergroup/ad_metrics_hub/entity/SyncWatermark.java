@@ -0,0 +1,38 @@
+package com.premiergroup.ad_metrics_hub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Last day whose metrics were fully synced for one ad account of a channel.
+ */
+@Entity
+@Table(name = "sync_watermarks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = "marketingChannel")
+@ToString(exclude = "marketingChannel")
+public class SyncWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "marketing_channels_id", nullable = false)
+    private MarketingChannel marketingChannel;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "synced_through", nullable = false)
+    private LocalDate syncedThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.premiergroup.ad_metrics_hub.enums;
+
+public enum BackfillStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.premiergroup.ad_metrics_hub.enums;
+
+/**
+ * Columns the campaign table can be ordered by; {@link #property()} is the query alias.
+ */
+public enum TableSort {
+
+    CAMPAIGN_NAME("campaignName"),
+    IMPRESSIONS("impressions"),
+    CLICKS("clicks"),
+    CONVERSIONS("conversions"),
+    COST("cost"),
+    COST_PER_CONVERSION("costPerConversion"),
+    CONVERSION_RATE("conversionRate");
+
+    private final String property;
+
+    TableSort(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+}
@@ -0,0 +1,13 @@
+package com.premiergroup.ad_metrics_hub.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by the sync services once metrics of a channel have been written for a date range.
+ */
+public record MetricsSyncedEvent(
+        Integer marketingChannelId,
+        LocalDate from,
+        LocalDate to
+) {
+}
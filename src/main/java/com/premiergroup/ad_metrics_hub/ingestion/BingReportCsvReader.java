@@ -0,0 +1,370 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+import com.premiergroup.ad_metrics_hub.aggregation.Micros;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Streaming reader for Bing Ads campaign performance reports in CSV format.
+ * <p>
+ * The report preamble ("Report Name: ...", "Rows: ...") and the copyright footer are detected
+ * rather than skipped by line count: data starts after the {@code "TimePeriod"} header and ends
+ * at the first blank or footer line. Numeric fields are parsed straight from a reused char
+ * buffer into fixed-point longs, and a single mutable {@link Row} is handed to the callback,
+ * so memory stays flat however large the report is.
+ */
+@Log4j2
+public final class BingReportCsvReader {
+
+    /**
+     * Scale of the fixed-point values in a {@link Row}: amounts and percentages are in {@link Micros}.
+     */
+    public static final int SCALE = Micros.SCALE;
+
+    private static final String[] COLUMNS = {
+            "TimePeriod", "CampaignId", "Impressions", "Clicks", "Spend",
+            "Ctr", "AverageCpc", "Conversions", "ConversionRate"
+    };
+    private static final int TIME_PERIOD = 0;
+    private static final int CAMPAIGN_ID = 1;
+    private static final int IMPRESSIONS = 2;
+    private static final int CLICKS = 3;
+    private static final int SPEND = 4;
+    private static final int CTR = 5;
+    private static final int AVERAGE_CPC = 6;
+    private static final int CONVERSIONS = 7;
+    private static final int CONVERSION_RATE = 8;
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void onRow(Row row);
+    }
+
+    /**
+     * One report line. The instance is reused for every line, so handlers must copy what they keep.
+     */
+    public static final class Row {
+        private LocalDate date;
+        private long campaignId;
+        private long impressions;
+        private long clicks;
+        private long spendMicros;
+        private long ctrMicros;
+        private long averageCpcMicros;
+        private long conversions;
+        private long conversionRateMicros;
+
+        public LocalDate date() {
+            return date;
+        }
+
+        public long campaignId() {
+            return campaignId;
+        }
+
+        public long impressions() {
+            return impressions;
+        }
+
+        public long clicks() {
+            return clicks;
+        }
+
+        public long spendMicros() {
+            return spendMicros;
+        }
+
+        /**
+         * Click-through rate in percent, times one million.
+         */
+        public long ctrMicros() {
+            return ctrMicros;
+        }
+
+        public long averageCpcMicros() {
+            return averageCpcMicros;
+        }
+
+        public long conversions() {
+            return conversions;
+        }
+
+        /**
+         * Conversion rate in percent, times one million.
+         */
+        public long conversionRateMicros() {
+            return conversionRateMicros;
+        }
+    }
+
+    public record Summary(long rows, long malformed) {
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private int bufferPos;
+    private int bufferLen;
+
+    private char[] line = new char[512];
+    private int lineLen;
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+    private int fieldCount;
+
+    private final int[] columnIndex = new int[COLUMNS.length];
+    private final Row row = new Row();
+
+    public BingReportCsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the whole report, calling {@code handler} once per data line.
+     *
+     * @throws IllegalStateException if the report has no recognisable header
+     */
+    public Summary read(RowHandler handler) throws IOException {
+        if (!seekHeader()) {
+            throw new IllegalStateException("No TimePeriod header found in Bing report");
+        }
+
+        long rows = 0;
+        long malformed = 0;
+        int headerFields = fieldCount;
+        while (readLine()) {
+            split();
+            if (isFooter()) {
+                break;
+            }
+            if (fieldCount != headerFields) {
+                log.warn("Skipping malformed line: {}", new String(line, 0, lineLen));
+                malformed++;
+                continue;
+            }
+            try {
+                parseRow();
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed line: {}", new String(line, 0, lineLen));
+                malformed++;
+                continue;
+            }
+            handler.onRow(row);
+            rows++;
+        }
+        return new Summary(rows, malformed);
+    }
+
+    // ——— header / footer ———
+
+    private boolean seekHeader() throws IOException {
+        while (readLine()) {
+            split();
+            if (fieldCount > 0 && fieldEquals(0, COLUMNS[TIME_PERIOD])) {
+                Arrays.fill(columnIndex, -1);
+                for (int f = 0; f < fieldCount; f++) {
+                    for (int c = 0; c < COLUMNS.length; c++) {
+                        if (fieldEquals(f, COLUMNS[c])) {
+                            columnIndex[c] = f;
+                        }
+                    }
+                }
+                for (int c = 0; c < COLUMNS.length; c++) {
+                    if (columnIndex[c] < 0) {
+                        throw new IllegalStateException("Bing report is missing column " + COLUMNS[c]);
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFooter() {
+        if (fieldCount <= 1 && fieldStart[0] == fieldEnd[0]) {
+            return true;                                    // blank line before the footer
+        }
+        return fieldEnd[0] > fieldStart[0] && line[fieldStart[0]] == '©';
+    }
+
+    private boolean fieldEquals(int field, String value) {
+        int start = fieldStart[field];
+        int len = fieldEnd[field] - start;
+        if (len != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (line[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ——— row parsing ———
+
+    private void parseRow() {
+        row.date = parseDate(columnIndex[TIME_PERIOD]);
+        row.campaignId = parseFixed(columnIndex[CAMPAIGN_ID], 0);
+        row.impressions = parseFixed(columnIndex[IMPRESSIONS], 0);
+        row.clicks = parseFixed(columnIndex[CLICKS], 0);
+        row.spendMicros = parseFixed(columnIndex[SPEND], SCALE);
+        row.ctrMicros = parseFixed(columnIndex[CTR], SCALE);
+        row.averageCpcMicros = parseFixed(columnIndex[AVERAGE_CPC], SCALE);
+        row.conversions = parseFixed(columnIndex[CONVERSIONS], 0);
+        row.conversionRateMicros = parseFixed(columnIndex[CONVERSION_RATE], SCALE);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd}, reusing the previous {@link LocalDate} while rows share a day.
+     */
+    private LocalDate parseDate(int field) {
+        int p = fieldStart[field];
+        if (fieldEnd[field] - p != 10 || line[p + 4] != '-' || line[p + 7] != '-') {
+            throw new IllegalArgumentException("Invalid TimePeriod");
+        }
+        int year = digits(p, 4);
+        int month = digits(p + 5, 2);
+        int day = digits(p + 8, 2);
+        LocalDate previous = row.date;
+        if (previous != null && previous.getDayOfMonth() == day
+                && previous.getMonthValue() == month && previous.getYear() == year) {
+            return previous;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = line[i] - '0';
+            if (d < 0 || d > 9) {
+                throw new IllegalArgumentException("Invalid digit");
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a decimal field into a long scaled by 10^scale, rounding extra fraction digits half
+     * up, as {@link Micros#of} does. A sign is only accepted as the first non-blank character;
+     * thousands separators, a trailing {@code %} and blanks are ignored; an empty field is zero.
+     */
+    private long parseFixed(int field, int scale) {
+        int p = fieldStart[field];
+        int end = fieldEnd[field];
+        while (p < end && line[p] == ' ') {
+            p++;
+        }
+        boolean negative = p < end && line[p] == '-';
+        if (negative) {
+            p++;
+        }
+        boolean fraction = false;
+        int fractionDigits = 0;
+        int firstDropped = -1;                              // decides the rounding of the kept digits
+        long value = 0;
+
+        for (; p < end; p++) {
+            char ch = line[p];
+            if (ch >= '0' && ch <= '9') {
+                if (fraction) {
+                    if (fractionDigits == scale) {
+                        if (firstDropped < 0) {
+                            firstDropped = ch - '0';
+                        }
+                        continue;
+                    }
+                    fractionDigits++;
+                }
+                value = Math.addExact(Math.multiplyExact(value, 10), ch - '0');
+            } else if (ch == '.' && !fraction) {
+                fraction = true;
+            } else if (ch != ',' && ch != '%' && ch != ' ') {
+                throw new IllegalArgumentException("Invalid number");
+            }
+        }
+        value = Math.multiplyExact(value, Micros.pow10(scale - fractionDigits));
+        if (firstDropped >= 5) {
+            value = Math.addExact(value, 1);
+        }
+        return negative ? -value : value;
+    }
+
+    // ——— line splitting ———
+
+    /**
+     * Reads the next line into {@link #line}, without its terminator. Returns false at end of input.
+     */
+    private boolean readLine() throws IOException {
+        lineLen = 0;
+        boolean any = false;
+        while (true) {
+            if (bufferPos == bufferLen) {
+                bufferLen = reader.read(buffer, 0, buffer.length);
+                bufferPos = 0;
+                if (bufferLen <= 0) {
+                    bufferLen = 0;
+                    return any;
+                }
+            }
+            any = true;
+            char ch = buffer[bufferPos++];
+            if (ch == '\n') {
+                if (lineLen > 0 && line[lineLen - 1] == '\r') {
+                    lineLen--;
+                }
+                return true;
+            }
+            if (ch == '\uFEFF') {
+                continue;                                   // byte order mark
+            }
+            if (lineLen == line.length) {
+                line = Arrays.copyOf(line, lineLen * 2);
+            }
+            line[lineLen++] = ch;
+        }
+    }
+
+    /**
+     * Records the bounds of each field of {@link #line}, excluding the surrounding quotes.
+     */
+    private void split() {
+        fieldCount = 0;
+        int i = 0;
+        while (true) {
+            if (fieldCount == fieldStart.length) {
+                fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+                fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+            }
+            int start = i;
+            int end;
+            if (i < lineLen && line[i] == '"') {
+                start = ++i;
+                while (i < lineLen && line[i] != '"') {
+                    i++;
+                }
+                end = i;
+                while (i < lineLen && line[i] != ',') {
+                    i++;
+                }
+            } else {
+                while (i < lineLen && line[i] != ',') {
+                    i++;
+                }
+                end = i;
+            }
+            fieldStart[fieldCount] = start;
+            fieldEnd[fieldCount] = end;
+            fieldCount++;
+            if (i >= lineLen) {
+                return;
+            }
+            i++;                                            // skip the comma
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the sync jobs, all tagged by {@code channel}:
+ * <ul>
+ *     <li>{@code ads.ingestion.sync}: one metrics sync of a date range, end to end</li>
+ *     <li>{@code ads.ingestion.api.latency}: ad platform calls, also tagged by {@code operation}</li>
+ *     <li>{@code ads.ingestion.parse}: parsing a report, not counting the time spent downloading it
+ *     or waiting for the pipeline to take its rows</li>
+ *     <li>{@code ads.ingestion.rows.fetched}, {@code .malformed}, {@code .unknown-campaign}: row counters;
+ *     the rate of {@code rows.fetched} is the ingestion throughput</li>
+ *     <li>{@code ads.ingestion.pipeline.items}: items through each {@link IngestionPipeline} stage,
+ *     also tagged by {@code stage}; its rate is the stage throughput</li>
+ *     <li>{@code ads.ingestion.pipeline.queue.depth}: sampled depth of the pipeline queues, also
+ *     tagged by {@code queue}</li>
+ * </ul>
+ * plus the untagged {@code ads.ingestion.db.write} timer and {@code ads.ingestion.rows.written}
+ * counter of each JDBC upsert batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestionMetrics {
+
+    public static final String GOOGLE = "google";
+    public static final String BING = "bing";
+
+    private final MeterRegistry registry;
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void sync(Timer.Sample sample, String channel) {
+        sample.stop(registry.timer("ads.ingestion.sync", "channel", channel));
+    }
+
+    public void apiCall(Timer.Sample sample, String channel, String operation) {
+        sample.stop(registry.timer("ads.ingestion.api.latency", "channel", channel, "operation", operation));
+    }
+
+    public void parse(String channel, long nanos) {
+        registry.timer("ads.ingestion.parse", "channel", channel).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void dbWrite(Timer.Sample sample, int rows) {
+        sample.stop(registry.timer("ads.ingestion.db.write"));
+        registry.counter("ads.ingestion.rows.written").increment(rows);
+    }
+
+    public void rowsFetched(String channel, long rows) {
+        registry.counter("ads.ingestion.rows.fetched", "channel", channel).increment(rows);
+    }
+
+    public void malformedRows(String channel, long rows) {
+        registry.counter("ads.ingestion.rows.malformed", "channel", channel).increment(rows);
+    }
+
+    public void unknownCampaignRows(String channel, long rows) {
+        registry.counter("ads.ingestion.rows.unknown-campaign", "channel", channel).increment(rows);
+    }
+
+    public void pipelineItems(String channel, String stage, long items) {
+        registry.counter("ads.ingestion.pipeline.items", "channel", channel, "stage", stage).increment(items);
+    }
+
+    public DistributionSummary queueDepth(String channel, String queue) {
+        return registry.summary("ads.ingestion.pipeline.queue.depth", "channel", channel, "queue", queue);
+    }
+}
@@ -0,0 +1,295 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs a {@link MetricSource} through three stages connected by bounded queues:
+ * <ol>
+ *     <li>fetch: one virtual thread per task, at most {@code ads.ingestion.fetch-concurrency} in
+ *     flight, which keeps the ad platform's rate limits in check</li>
+ *     <li>transform: {@code ads.ingestion.transform-threads} workers turning the fetched items
+ *     into {@link MetricRecord}s</li>
+ *     <li>persist: the calling thread, the only one that touches the {@link MetricBatchWriter.Batch},
+ *     so writes stay in the caller's transaction</li>
+ * </ol>
+ * Each queue holds at most {@code ads.ingestion.queue-capacity} items, so a slow database holds
+ * the transformers back and they hold the fetchers back, instead of rows piling up in memory.
+ * <p>
+ * Tasks can also be partitioned, e.g. by ad account, with a separate limit per partition, so one
+ * large account cannot hold every permit while the others wait.
+ * <p>
+ * A task whose fetch throws is logged and returned to the caller; the other tasks carry on. A
+ * failure to persist, or a transform worker dying, stops every stage and fails the run.
+ * <p>
+ * Every run logs the items and rate of each stage and the peak depth of each queue, and records
+ * them in {@link IngestionMetrics}.
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class IngestionPipeline {
+
+    /**
+     * Tells a transform worker the fetchers are done; one per worker. Compared by identity.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * How long the persist stage waits for a record before checking whether the workers are done.
+     */
+    private static final long POLL_MILLIS = 50;
+
+    /**
+     * Persisted records between two queue depth samples.
+     */
+    private static final int DEPTH_SAMPLE_INTERVAL = 256;
+
+    private final IngestionMetrics metrics;
+
+    @Value("${ads.ingestion.fetch-concurrency}")
+    private int fetchConcurrency;
+
+    @Value("${ads.ingestion.transform-threads}")
+    private int transformThreads;
+
+    @Value("${ads.ingestion.queue-capacity}")
+    private int queueCapacity;
+
+    /**
+     * Fetches every task, transforms the items and adds the records to {@code batch}.
+     * A failing task is logged and does not stop the others.
+     *
+     * @return the tasks whose fetch threw, whose items may be incomplete
+     */
+    public <T, R> List<T> run(List<T> tasks, MetricSource<T, R> source, MetricBatchWriter.Batch batch) {
+        return run(tasks, task -> Boolean.TRUE, fetchConcurrency, source, batch);
+    }
+
+    /**
+     * Like {@link #run(List, MetricSource, MetricBatchWriter.Batch)}, with at most
+     * {@code perPartition} of the tasks sharing a {@code partition} key fetching at once.
+     *
+     * @return the tasks whose fetch threw, whose items may be incomplete
+     */
+    public <T, K, R> List<T> run(List<T> tasks, Function<T, K> partition, int perPartition,
+                                 MetricSource<T, R> source, MetricBatchWriter.Batch batch) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        BlockingQueue<Object> fetched = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<MetricRecord> transformed = new ArrayBlockingQueue<>(queueCapacity);
+        Semaphore permits = new Semaphore(fetchConcurrency);
+        Map<K, Semaphore> partitionPermits = new ConcurrentHashMap<>();
+        AtomicInteger fetching = new AtomicInteger(tasks.size());
+        Queue<T> failed = new ConcurrentLinkedQueue<>();
+        AtomicInteger transforming = new AtomicInteger(transformThreads);
+        AtomicReference<Throwable> workerFailure = new AtomicReference<>();
+        Stats stats = new Stats(source.channel());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        boolean completed = false;
+        long began = System.nanoTime();
+
+        try {
+            // 1) One virtual thread per task; the semaphores bound the calls in flight, per partition and overall
+            for (T task : tasks) {
+                Semaphore own = partitionPermits.computeIfAbsent(partition.apply(task), k -> new Semaphore(perPartition));
+                executor.execute(() -> fetch(task, source, fetched, own, permits, fetching, failed, stats));
+            }
+
+            // 2) A fixed set of workers transforms whatever has been fetched
+            for (int i = 0; i < transformThreads; i++) {
+                executor.execute(() -> transform(source, fetched, transformed, transforming, workerFailure, stats));
+            }
+
+            // 3) Persist on the calling thread until every transform worker has stopped, however it
+            //    stopped, and its records are drained
+            while (true) {
+                MetricRecord record = transformed.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (record == null) {
+                    // the count first: a worker only stops after its last record is queued
+                    if (transforming.get() == 0 && transformed.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(record);
+                if (++stats.persisted % DEPTH_SAMPLE_INTERVAL == 0) {
+                    stats.sampleDepths(fetched.size(), transformed.size());
+                }
+            }
+            if (workerFailure.get() != null) {
+                throw new IllegalStateException("Metric transform worker failed", workerFailure.get());
+            }
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ingesting metrics", e);
+        } finally {
+            if (!completed) {
+                executor.shutdownNow();                     // unblock workers waiting on a full queue
+            }
+            executor.close();
+        }
+        report(stats, tasks.size(), failed.size(), partitionPermits.size(), perPartition, System.nanoTime() - began);
+        return List.copyOf(failed);
+    }
+
+    private <T, R> void fetch(T task, MetricSource<T, R> source, BlockingQueue<Object> fetched,
+                              Semaphore partitionPermits, Semaphore permits, AtomicInteger fetching,
+                              Queue<T> failed, Stats stats) {
+        boolean fetchedAll = false;
+        boolean stopped = false;
+        try {
+            // the partition's permit first, so tasks waiting on their partition hold no global permit
+            partitionPermits.acquire();
+            try {
+                permits.acquire();
+                try {
+                    source.fetch(task, item -> {
+                        fetched.put(item);
+                        stats.fetched.increment();
+                    });
+                } finally {
+                    permits.release();
+                }
+            } finally {
+                partitionPermits.release();
+            }
+            fetchedAll = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();         // the run is being stopped
+            stopped = true;
+        } catch (RuntimeException e) {
+            log.error("Metric fetch failed for {}", task, e);
+        } finally {
+            // an Error fails the task too, and still counts down, then the thread reports it
+            if (!stopped) {
+                if (!fetchedAll) {
+                    failed.add(task);
+                }
+                endFetch(fetched, fetching);
+            }
+        }
+    }
+
+    /**
+     * The last fetcher to finish tells every transform worker there is nothing more to come.
+     */
+    private void endFetch(BlockingQueue<Object> fetched, AtomicInteger fetching) {
+        if (fetching.decrementAndGet() == 0) {
+            try {
+                for (int i = 0; i < transformThreads; i++) {
+                    fetched.put(END);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> void transform(MetricSource<?, R> source, BlockingQueue<Object> fetched,
+                               BlockingQueue<MetricRecord> transformed, AtomicInteger transforming,
+                               AtomicReference<Throwable> workerFailure, Stats stats) {
+        Throwable failure = null;
+        try {
+            for (Object item = fetched.take(); item != END; item = fetched.take()) {
+                MetricRecord record;
+                try {
+                    record = source.transform((R) item);
+                } catch (RuntimeException e) {
+                    // a bad item tends to come with many more like it: keep one stack trace
+                    if (stats.transformErrors.incrementAndGet() == 1) {
+                        log.error("Metric transform failed", e);
+                    }
+                    continue;
+                }
+                if (record != null) {
+                    transformed.put(record);
+                    stats.transformed.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            // a worker stopping before END loses what it would have transformed: fail the run.
+            // Recorded before counting down, so the persist stage sees it once the count is zero
+            if (failure != null) {
+                workerFailure.compareAndSet(null, failure);
+            }
+            transforming.decrementAndGet();
+        }
+    }
+
+    private void report(Stats stats, int tasks, int failedTasks, int partitions, int perPartition, long nanos) {
+        double seconds = nanos / 1e9;
+        long fetched = stats.fetched.sum();
+        long transformed = stats.transformed.sum();
+        log.info("Ingested {} {} metric rows from {} tasks in {} partitions in {} s: "
+                        + "fetch {} items ({}/s, {} at once, {} per partition, {} tasks failed), "
+                        + "transform {} records ({}/s, {} threads, {} failed), persist {} records ({}/s); "
+                        + "peak queue depth {} fetched, {} transformed, of {}",
+                stats.persisted, stats.channel, tasks, partitions, String.format("%.2f", seconds),
+                fetched, Math.round(fetched / seconds), fetchConcurrency, perPartition, failedTasks,
+                transformed, Math.round(transformed / seconds), transformThreads, stats.transformErrors.get(),
+                stats.persisted, Math.round(stats.persisted / seconds),
+                stats.peakFetchedDepth, stats.peakTransformedDepth, queueCapacity);
+        metrics.pipelineItems(stats.channel, "fetch", fetched);
+        metrics.pipelineItems(stats.channel, "transform", transformed);
+        metrics.pipelineItems(stats.channel, "persist", stats.persisted);
+    }
+
+    /**
+     * Counters of one run. The persist side is only touched by the calling thread.
+     */
+    private final class Stats {
+
+        private final String channel;
+        private final LongAdder fetched = new LongAdder();
+        private final LongAdder transformed = new LongAdder();
+        private final AtomicLong transformErrors = new AtomicLong();
+        private final DistributionSummary fetchedDepth;
+        private final DistributionSummary transformedDepth;
+        private long persisted;
+        private int peakFetchedDepth;
+        private int peakTransformedDepth;
+
+        Stats(String channel) {
+            this.channel = channel;
+            this.fetchedDepth = metrics.queueDepth(channel, "fetched");
+            this.transformedDepth = metrics.queueDepth(channel, "transformed");
+        }
+
+        void sampleDepths(int fetchedSize, int transformedSize) {
+            fetchedDepth.record(fetchedSize);
+            transformedDepth.record(transformedSize);
+            peakFetchedDepth = Math.max(peakFetchedDepth, fetchedSize);
+            peakTransformedDepth = Math.max(peakTransformedDepth, transformedSize);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+import com.premiergroup.ad_metrics_hub.repository.CampaignMetricJdbcRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers {@link MetricRecord}s and upserts them in JDBC batches of {@code ads.ingestion.batch-size}.
+ * <p>
+ * Each chunk also flushes and clears the persistence context, so a full-history sync does
+ * not keep every entity it touched managed until the transaction ends.
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class MetricBatchWriter {
+
+    private final CampaignMetricJdbcRepository jdbcRepository;
+    private final EntityManager entityManager;
+    private final IngestionMetrics metrics;
+
+    @Value("${ads.ingestion.batch-size}")
+    private int batchSize;
+
+    public Batch open() {
+        return new Batch();
+    }
+
+    public final class Batch implements AutoCloseable {
+
+        private final List<MetricRecord> buffer = new ArrayList<>(batchSize);
+        private long written;
+
+        public void add(MetricRecord record) {
+            buffer.add(record);
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        public void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+            if (inTransaction) {
+                entityManager.flush();
+            }
+            Timer.Sample sample = metrics.start();
+            jdbcRepository.upsert(buffer);
+            metrics.dbWrite(sample, buffer.size());
+            if (inTransaction) {
+                entityManager.clear();
+            }
+            written += buffer.size();
+            buffer.clear();
+        }
+
+        /**
+         * Records written so far, not counting the ones still buffered.
+         */
+        public long written() {
+            return written;
+        }
+
+        @Override
+        public void close() {
+            flush();
+            log.debug("Upserted {} metric rows", written);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One campaign-day of metrics as reported by an ad platform, ready to be upserted into
+ * {@code campaign_metrics}. {@code campaignId} is our {@code campaigns.id}, not the platform ID,
+ * and {@code marketingChannelId} and {@code accountId} the channel and ad account of that campaign.
+ * Optional columns a platform does not report are left {@code null} and keep their stored value.
+ */
+public record MetricRecord(
+        Integer campaignId,
+        Integer marketingChannelId,
+        Long accountId,
+        LocalDate statsDate,
+        Integer clicks,
+        Integer impressions,
+        BigDecimal cost,
+        BigDecimal ctr,
+        BigDecimal avgCpc,
+        Integer conversions,
+        BigDecimal conversionRate,
+        BigDecimal costPerConversion,
+        BigDecimal conversionValue,
+        BigDecimal valuePerConversion,
+        BigDecimal roas
+) {
+}
@@ -0,0 +1,39 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+/**
+ * An ad platform as seen by the {@link IngestionPipeline}: how to fetch the raw items of one
+ * task (a date window, a report, ...) and how to turn each item into a {@link MetricRecord}.
+ * <p>
+ * The pipeline runs {@link #fetch} concurrently for many tasks and {@link #transform} on several
+ * threads at once, so both must be safe to call concurrently; state shared between calls should
+ * be read-only or concurrent.
+ *
+ * @param <T> a unit of fetching work
+ * @param <R> a raw item as fetched, e.g. an API row or a parsed report line
+ */
+public interface MetricSource<T, R> {
+
+    /**
+     * Channel name the pipeline tags its meters with, e.g. {@link IngestionMetrics#GOOGLE}.
+     */
+    String channel();
+
+    /**
+     * Fetches one task, emitting its raw items as they arrive. {@link Emitter#emit} blocks while
+     * the next stage is behind. A runtime exception fails only this task: the items already
+     * emitted are kept, and the pipeline returns the task to the caller, which decides whether
+     * what the task covers can count as synced.
+     */
+    void fetch(T task, Emitter<R> emitter) throws InterruptedException;
+
+    /**
+     * The normalised record of a raw item, or null to skip it. Runs off the fetching thread, so
+     * lookups and decimal conversions don't slow the platform calls down.
+     */
+    MetricRecord transform(R item);
+
+    @FunctionalInterface
+    interface Emitter<R> {
+        void emit(R item) throws InterruptedException;
+    }
+}
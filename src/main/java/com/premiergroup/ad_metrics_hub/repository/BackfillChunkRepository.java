@@ -0,0 +1,39 @@
+package com.premiergroup.ad_metrics_hub.repository;
+
+import com.premiergroup.ad_metrics_hub.entity.BackfillChunk;
+import com.premiergroup.ad_metrics_hub.enums.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BackfillChunkRepository extends JpaRepository<BackfillChunk, Integer> {
+
+    List<BackfillChunk> findByJobIdAndStatusOrderByChunkStart(Integer jobId, BackfillStatus status);
+
+    long countByJobId(Integer jobId);
+
+    long countByJobIdAndStatus(Integer jobId, BackfillStatus status);
+
+    long countByJobIdAndStatusIn(Integer jobId, Collection<BackfillStatus> statuses);
+
+    @Transactional
+    void deleteByJobId(Integer jobId);
+
+    /**
+     * Puts chunks that were running when the application stopped back in the queue.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE BackfillChunk c
+            SET c.status = com.premiergroup.ad_metrics_hub.enums.BackfillStatus.PENDING
+            WHERE c.jobId = :jobId
+              AND c.status = com.premiergroup.ad_metrics_hub.enums.BackfillStatus.RUNNING
+            """)
+    int requeueRunning(@Param("jobId") Integer jobId);
+}
@@ -0,0 +1,19 @@
+package com.premiergroup.ad_metrics_hub.repository;
+
+import com.premiergroup.ad_metrics_hub.entity.BackfillJob;
+import com.premiergroup.ad_metrics_hub.enums.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Integer> {
+
+    Optional<BackfillJob> findFirstByMarketingChannelIdAndStatusIn(
+            Integer marketingChannelId,
+            Collection<BackfillStatus> statuses
+    );
+
+    List<BackfillJob> findByStatusIn(Collection<BackfillStatus> statuses);
+}
@@ -0,0 +1,65 @@
+package com.premiergroup.ad_metrics_hub.repository;
+
+import com.premiergroup.ad_metrics_hub.ingestion.MetricRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Bulk writes to {@code campaign_metrics} that bypass the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CampaignMetricJdbcRepository {
+
+    /**
+     * Upsert on {@code unique_campaign_account_date (campaign_id, account_id, stats_date)}.
+     */
+    private static final String UPSERT_SQL = """
+            INSERT INTO campaign_metrics
+                (campaign_id, marketing_channels_id, account_id, stats_date, clicks, impressions, cost, ctr, avg_cpc,
+                 conversions, conversion_rate, cost_per_conversion, conversion_value, value_per_conversion, roas)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                clicks = VALUES(clicks),
+                impressions = VALUES(impressions),
+                cost = VALUES(cost),
+                ctr = VALUES(ctr),
+                avg_cpc = VALUES(avg_cpc),
+                conversions = VALUES(conversions),
+                conversion_rate = VALUES(conversion_rate),
+                cost_per_conversion = COALESCE(VALUES(cost_per_conversion), cost_per_conversion),
+                conversion_value = COALESCE(VALUES(conversion_value), conversion_value),
+                value_per_conversion = COALESCE(VALUES(value_per_conversion), value_per_conversion),
+                roas = COALESCE(VALUES(roas), roas)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the records as a single JDBC batch.
+     */
+    public void upsert(List<MetricRecord> records) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, records, records.size(), (ps, r) -> {
+            ps.setInt(1, r.campaignId());
+            ps.setInt(2, r.marketingChannelId());
+            ps.setLong(3, r.accountId());
+            ps.setDate(4, Date.valueOf(r.statsDate()));
+            ps.setObject(5, r.clicks(), Types.INTEGER);
+            ps.setObject(6, r.impressions(), Types.INTEGER);
+            ps.setBigDecimal(7, r.cost());
+            ps.setBigDecimal(8, r.ctr());
+            ps.setBigDecimal(9, r.avgCpc());
+            ps.setObject(10, r.conversions(), Types.INTEGER);
+            ps.setBigDecimal(11, r.conversionRate());
+            ps.setBigDecimal(12, r.costPerConversion());
+            ps.setBigDecimal(13, r.conversionValue());
+            ps.setBigDecimal(14, r.valuePerConversion());
+            ps.setBigDecimal(15, r.roas());
+        });
+    }
+}
@@ -1,14 +1,32 @@
 package com.premiergroup.ad_metrics_hub.repository;
 
 import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignDailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.DailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.MonthlyMetricTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CampaignMetricRepository extends JpaRepository<CampaignMetric, Integer> {
 
+    /**
+     * JDBC fetch size that makes MySQL Connector/J stream rows instead of buffering the whole result.
+     */
+    String STREAMING_FETCH_SIZE = "-2147483648";
+
     Optional<CampaignMetric> findByCampaign_IdAndStatsDate(Integer campaignId, LocalDate statsDate);
 
     List<CampaignMetric> findByCampaign_MarketingChannel_IdAndStatsDateBetween(
@@ -17,10 +35,236 @@ public interface CampaignMetricRepository extends JpaRepository<CampaignMetric,
             LocalDate end
     );
 
+    /**
+     * Same rows as {@link #findByCampaign_MarketingChannel_IdAndStatsDateBetween}, read through
+     * the denormalised channel column instead of a join to {@code campaigns}.
+     */
+    List<CampaignMetric> findByMarketingChannelIdAndStatsDateBetween(
+            Integer marketingChannelId,
+            LocalDate start,
+            LocalDate end
+    );
+
     List<CampaignMetric> findByCampaign_MarketingChannel_IdAndCampaign_StatusInAndStatsDateBetween(
             Integer marketingChannelId,
             List<String> statuses,
             LocalDate start,
             LocalDate end
     );
+
+    /**
+     * Channel totals per day, one row for every day with data in [start, end] or in the
+     * comparison window [prevStart, prevEnd]; the two windows must not share a day.
+     */
+    @Query("""
+            SELECT cm.statsDate AS statsDate,
+                   COALESCE(SUM(cm.impressions), 0) AS impressions,
+                   COALESCE(SUM(cm.clicks), 0) AS clicks,
+                   COALESCE(SUM(cm.conversions), 0) AS conversions,
+                   COALESCE(SUM(cm.cost), 0) AS cost
+            FROM CampaignMetric cm
+            WHERE cm.marketingChannelId = :marketingChannelId
+              AND (cm.statsDate BETWEEN :start AND :end
+                   OR cm.statsDate BETWEEN :prevStart AND :prevEnd)
+            GROUP BY cm.statsDate
+            ORDER BY cm.statsDate
+            """)
+    List<DailyMetricTotals> sumByDay(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("prevStart") LocalDate prevStart,
+            @Param("prevEnd") LocalDate prevEnd
+    );
+
+    /**
+     * Channel totals per calendar month, one row for every month with data in [start, end] or
+     * in the comparison window [prevStart, prevEnd]; the two windows must not share a month.
+     */
+    @Query("""
+            SELECT YEAR(cm.statsDate) AS statsYear,
+                   MONTH(cm.statsDate) AS statsMonth,
+                   COALESCE(SUM(cm.impressions), 0) AS impressions,
+                   COALESCE(SUM(cm.clicks), 0) AS clicks,
+                   COALESCE(SUM(cm.conversions), 0) AS conversions,
+                   COALESCE(SUM(cm.cost), 0) AS cost
+            FROM CampaignMetric cm
+            WHERE cm.marketingChannelId = :marketingChannelId
+              AND (cm.statsDate BETWEEN :start AND :end
+                   OR cm.statsDate BETWEEN :prevStart AND :prevEnd)
+            GROUP BY YEAR(cm.statsDate), MONTH(cm.statsDate)
+            ORDER BY YEAR(cm.statsDate), MONTH(cm.statsDate)
+            """)
+    List<MonthlyMetricTotals> sumByMonth(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("prevStart") LocalDate prevStart,
+            @Param("prevEnd") LocalDate prevEnd
+    );
+
+    /**
+     * Totals per campaign for [start, end] and for the earlier window [prevStart, prevEnd],
+     * in one grouped scan; {@code prevEnd} must be before {@code start}.
+     */
+    @Query("""
+            SELECT cm.campaign.id AS campaignId,
+                   cm.campaign.name AS campaignName,
+                   cm.campaign.status AS campaignStatus,
+                   SUM(CASE WHEN cm.statsDate >= :start THEN 1 ELSE 0 END) AS currentRows,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.impressions ELSE 0 END), 0) AS impressions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.clicks ELSE 0 END), 0) AS clicks,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.conversions ELSE 0 END), 0) AS conversions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.cost ELSE 0 END), 0) AS cost,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.impressions ELSE 0 END), 0) AS prevImpressions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.clicks ELSE 0 END), 0) AS prevClicks,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.conversions ELSE 0 END), 0) AS prevConversions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.cost ELSE 0 END), 0) AS prevCost
+            FROM CampaignMetric cm
+            WHERE cm.marketingChannelId = :marketingChannelId
+              AND (cm.statsDate BETWEEN :start AND :end
+                   OR cm.statsDate BETWEEN :prevStart AND :prevEnd)
+            GROUP BY cm.campaign.id, cm.campaign.name, cm.campaign.status
+            ORDER BY cm.campaign.id
+            """)
+    List<CampaignComparisonTotals> compareByCampaign(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("prevStart") LocalDate prevStart,
+            @Param("prevEnd") LocalDate prevEnd
+    );
+
+    /**
+     * Same totals as {@link #compareByCampaign}, restricted to campaigns with data in the current
+     * window and ordered and paged by {@code pageable}, whose sort may use any of the selected aliases.
+     * Rows are streamed from the driver one at a time; the caller must consume the stream inside a
+     * transaction and close it.
+     */
+    @Query("""
+            SELECT cm.campaign.id AS campaignId,
+                   cm.campaign.name AS campaignName,
+                   cm.campaign.status AS campaignStatus,
+                   SUM(CASE WHEN cm.statsDate >= :start THEN 1 ELSE 0 END) AS currentRows,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.impressions ELSE 0 END), 0) AS impressions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.clicks ELSE 0 END), 0) AS clicks,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.conversions ELSE 0 END), 0) AS conversions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.cost ELSE 0 END), 0) AS cost,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.cost ELSE 0 END)
+                            / NULLIF(SUM(CASE WHEN cm.statsDate >= :start THEN cm.conversions ELSE 0 END), 0), 0) AS costPerConversion,
+                   COALESCE(1.0 * SUM(CASE WHEN cm.statsDate >= :start THEN cm.conversions ELSE 0 END)
+                            / NULLIF(SUM(CASE WHEN cm.statsDate >= :start THEN cm.clicks ELSE 0 END), 0), 0) AS conversionRate,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.impressions ELSE 0 END), 0) AS prevImpressions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.clicks ELSE 0 END), 0) AS prevClicks,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.conversions ELSE 0 END), 0) AS prevConversions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate < :start THEN cm.cost ELSE 0 END), 0) AS prevCost
+            FROM CampaignMetric cm
+            WHERE cm.marketingChannelId = :marketingChannelId
+              AND (cm.statsDate BETWEEN :start AND :end
+                   OR cm.statsDate BETWEEN :prevStart AND :prevEnd)
+            GROUP BY cm.campaign.id, cm.campaign.name, cm.campaign.status
+            HAVING SUM(CASE WHEN cm.statsDate >= :start THEN 1 ELSE 0 END) > 0
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    Stream<CampaignComparisonTotals> streamByCampaign(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("prevStart") LocalDate prevStart,
+            @Param("prevEnd") LocalDate prevEnd,
+            Pageable pageable
+    );
+
+    /**
+     * Totals per campaign and calendar month.
+     */
+    @Query("""
+            SELECT cm.campaign.id AS campaignId,
+                   cm.campaign.name AS campaignName,
+                   cm.campaign.status AS campaignStatus,
+                   YEAR(cm.statsDate) AS statsYear,
+                   MONTH(cm.statsDate) AS statsMonth,
+                   COALESCE(SUM(cm.impressions), 0) AS impressions,
+                   COALESCE(SUM(cm.clicks), 0) AS clicks,
+                   COALESCE(SUM(cm.conversions), 0) AS conversions,
+                   COALESCE(SUM(cm.cost), 0) AS cost
+            FROM CampaignMetric cm
+            WHERE cm.marketingChannelId = :marketingChannelId
+              AND cm.statsDate BETWEEN :start AND :end
+            GROUP BY cm.campaign.id, cm.campaign.name, cm.campaign.status, YEAR(cm.statsDate), MONTH(cm.statsDate)
+            ORDER BY cm.campaign.id, YEAR(cm.statsDate), MONTH(cm.statsDate)
+            """)
+    List<CampaignMonthlyMetricTotals> sumByCampaignAndMonth(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
+
+    /**
+     * Totals per campaign and calendar month of [start, end], of the earlier window
+     * [prevStart, prevEnd] and of [prevYearStart, prevYearEnd], in one grouped scan; both earlier
+     * windows must end before {@code start}, and may overlap each other.
+     */
+    @Query("""
+            SELECT c.id AS campaignId,
+                   c.name AS campaignName,
+                   c.status AS campaignStatus,
+                   YEAR(cm.statsDate) AS statsYear,
+                   MONTH(cm.statsDate) AS statsMonth,
+                   SUM(CASE WHEN cm.statsDate >= :start THEN 1 ELSE 0 END) AS currentRows,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.impressions ELSE 0 END), 0) AS impressions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.clicks ELSE 0 END), 0) AS clicks,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.conversions ELSE 0 END), 0) AS conversions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate >= :start THEN cm.cost ELSE 0 END), 0) AS cost,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevStart AND :prevEnd THEN cm.impressions ELSE 0 END), 0) AS prevImpressions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevStart AND :prevEnd THEN cm.clicks ELSE 0 END), 0) AS prevClicks,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevStart AND :prevEnd THEN cm.conversions ELSE 0 END), 0) AS prevConversions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevStart AND :prevEnd THEN cm.cost ELSE 0 END), 0) AS prevCost,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevYearStart AND :prevYearEnd THEN cm.impressions ELSE 0 END), 0) AS prevYearImpressions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevYearStart AND :prevYearEnd THEN cm.clicks ELSE 0 END), 0) AS prevYearClicks,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevYearStart AND :prevYearEnd THEN cm.conversions ELSE 0 END), 0) AS prevYearConversions,
+                   COALESCE(SUM(CASE WHEN cm.statsDate BETWEEN :prevYearStart AND :prevYearEnd THEN cm.cost ELSE 0 END), 0) AS prevYearCost
+            FROM CampaignMetric cm
+            JOIN cm.campaign c
+            WHERE cm.marketingChannelId = :marketingChannelId
+              AND (cm.statsDate BETWEEN :start AND :end
+                   OR cm.statsDate BETWEEN :prevStart AND :prevEnd
+                   OR cm.statsDate BETWEEN :prevYearStart AND :prevYearEnd)
+            GROUP BY c.id, c.name, c.status, YEAR(cm.statsDate), MONTH(cm.statsDate)
+            ORDER BY c.id, YEAR(cm.statsDate), MONTH(cm.statsDate)
+            """)
+    List<CampaignMonthlyComparisonTotals> compareByCampaignAndMonth(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("prevStart") LocalDate prevStart,
+            @Param("prevEnd") LocalDate prevEnd,
+            @Param("prevYearStart") LocalDate prevYearStart,
+            @Param("prevYearEnd") LocalDate prevYearEnd
+    );
+
+    /**
+     * Totals per campaign and day, with the campaign columns joined in the same statement.
+     */
+    @Query("""
+            SELECT c.id AS campaignId,
+                   c.name AS campaignName,
+                   c.status AS campaignStatus,
+                   cm.statsDate AS statsDate,
+                   COALESCE(SUM(cm.impressions), 0) AS impressions,
+                   COALESCE(SUM(cm.clicks), 0) AS clicks,
+                   COALESCE(SUM(cm.conversions), 0) AS conversions,
+                   COALESCE(SUM(cm.cost), 0) AS cost
+            FROM CampaignMetric cm
+            JOIN cm.campaign c
+            WHERE cm.marketingChannelId = :marketingChannelId
+              AND cm.statsDate BETWEEN :start AND :end
+            GROUP BY c.id, c.name, c.status, cm.statsDate
+            ORDER BY c.id, cm.statsDate
+            """)
+    List<CampaignDailyMetricTotals> sumByCampaignAndDay(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.premiergroup.ad_metrics_hub.repository;
+
+import com.premiergroup.ad_metrics_hub.entity.CampaignMonthlyMetric;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyMetricTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CampaignMonthlyMetricRepository extends JpaRepository<CampaignMonthlyMetric, Integer> {
+
+    /**
+     * Recomputes the channel's campaign-month rows in [fromMonth, toMonth] from {@code campaign_metrics}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO campaign_monthly_metrics
+                (campaign_id, marketing_channels_id, stats_month, impressions, clicks, conversions, cost)
+            SELECT cm.campaign_id, cm.marketing_channels_id,
+                   DATE_SUB(cm.stats_date, INTERVAL DAYOFMONTH(cm.stats_date) - 1 DAY) AS month_start,
+                   COALESCE(SUM(cm.impressions), 0), COALESCE(SUM(cm.clicks), 0),
+                   COALESCE(SUM(cm.conversions), 0), COALESCE(SUM(cm.cost), 0)
+            FROM campaign_metrics cm
+            WHERE cm.marketing_channels_id = :marketingChannelId
+              AND cm.stats_date BETWEEN :fromMonth AND :toMonth
+            GROUP BY cm.campaign_id, cm.marketing_channels_id, month_start
+            ON DUPLICATE KEY UPDATE
+                impressions = VALUES(impressions),
+                clicks = VALUES(clicks),
+                conversions = VALUES(conversions),
+                cost = VALUES(cost)
+            """, nativeQuery = true)
+    int refresh(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth
+    );
+
+    /**
+     * Like {@link CampaignMetricRepository#compareByCampaign}, for windows of whole months.
+     */
+    @Query("""
+            SELECT r.campaign.id AS campaignId,
+                   r.campaign.name AS campaignName,
+                   r.campaign.status AS campaignStatus,
+                   SUM(CASE WHEN r.statsMonth >= :startMonth THEN 1 ELSE 0 END) AS currentRows,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.impressions ELSE 0 END), 0) AS impressions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.clicks ELSE 0 END), 0) AS clicks,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.conversions ELSE 0 END), 0) AS conversions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.cost ELSE 0 END), 0) AS cost,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.impressions ELSE 0 END), 0) AS prevImpressions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.clicks ELSE 0 END), 0) AS prevClicks,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.conversions ELSE 0 END), 0) AS prevConversions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.cost ELSE 0 END), 0) AS prevCost
+            FROM CampaignMonthlyMetric r
+            WHERE r.marketingChannel.id = :marketingChannelId
+              AND (r.statsMonth BETWEEN :startMonth AND :endMonth
+                   OR r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth)
+            GROUP BY r.campaign.id, r.campaign.name, r.campaign.status
+            ORDER BY r.campaign.id
+            """)
+    List<CampaignComparisonTotals> compareByCampaign(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth,
+            @Param("prevStartMonth") LocalDate prevStartMonth,
+            @Param("prevEndMonth") LocalDate prevEndMonth
+    );
+
+    /**
+     * Same totals as {@link #compareByCampaign}, restricted to campaigns with data in the current
+     * window and ordered and paged by {@code pageable}, whose sort may use any of the selected aliases.
+     * Rows are streamed from the driver one at a time; the caller must consume the stream inside a
+     * transaction and close it.
+     */
+    @Query("""
+            SELECT r.campaign.id AS campaignId,
+                   r.campaign.name AS campaignName,
+                   r.campaign.status AS campaignStatus,
+                   SUM(CASE WHEN r.statsMonth >= :startMonth THEN 1 ELSE 0 END) AS currentRows,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.impressions ELSE 0 END), 0) AS impressions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.clicks ELSE 0 END), 0) AS clicks,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.conversions ELSE 0 END), 0) AS conversions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.cost ELSE 0 END), 0) AS cost,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.cost ELSE 0 END)
+                            / NULLIF(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.conversions ELSE 0 END), 0), 0) AS costPerConversion,
+                   COALESCE(1.0 * SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.conversions ELSE 0 END)
+                            / NULLIF(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.clicks ELSE 0 END), 0), 0) AS conversionRate,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.impressions ELSE 0 END), 0) AS prevImpressions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.clicks ELSE 0 END), 0) AS prevClicks,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.conversions ELSE 0 END), 0) AS prevConversions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth < :startMonth THEN r.cost ELSE 0 END), 0) AS prevCost
+            FROM CampaignMonthlyMetric r
+            WHERE r.marketingChannel.id = :marketingChannelId
+              AND (r.statsMonth BETWEEN :startMonth AND :endMonth
+                   OR r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth)
+            GROUP BY r.campaign.id, r.campaign.name, r.campaign.status
+            HAVING SUM(CASE WHEN r.statsMonth >= :startMonth THEN 1 ELSE 0 END) > 0
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CampaignMetricRepository.STREAMING_FETCH_SIZE))
+    Stream<CampaignComparisonTotals> streamByCampaign(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth,
+            @Param("prevStartMonth") LocalDate prevStartMonth,
+            @Param("prevEndMonth") LocalDate prevEndMonth,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT r.campaign.id AS campaignId,
+                   r.campaign.name AS campaignName,
+                   r.campaign.status AS campaignStatus,
+                   YEAR(r.statsMonth) AS statsYear,
+                   MONTH(r.statsMonth) AS statsMonth,
+                   r.impressions AS impressions,
+                   r.clicks AS clicks,
+                   r.conversions AS conversions,
+                   r.cost AS cost
+            FROM CampaignMonthlyMetric r
+            WHERE r.marketingChannel.id = :marketingChannelId
+              AND r.statsMonth BETWEEN :startMonth AND :endMonth
+            ORDER BY r.campaign.id, r.statsMonth
+            """)
+    List<CampaignMonthlyMetricTotals> sumByCampaignAndMonth(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth
+    );
+
+    /**
+     * Like {@link CampaignMetricRepository#compareByCampaignAndMonth}, for windows of whole months.
+     */
+    @Query("""
+            SELECT r.campaign.id AS campaignId,
+                   r.campaign.name AS campaignName,
+                   r.campaign.status AS campaignStatus,
+                   YEAR(r.statsMonth) AS statsYear,
+                   MONTH(r.statsMonth) AS statsMonth,
+                   SUM(CASE WHEN r.statsMonth >= :startMonth THEN 1 ELSE 0 END) AS currentRows,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.impressions ELSE 0 END), 0) AS impressions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.clicks ELSE 0 END), 0) AS clicks,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.conversions ELSE 0 END), 0) AS conversions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth >= :startMonth THEN r.cost ELSE 0 END), 0) AS cost,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth THEN r.impressions ELSE 0 END), 0) AS prevImpressions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth THEN r.clicks ELSE 0 END), 0) AS prevClicks,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth THEN r.conversions ELSE 0 END), 0) AS prevConversions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth THEN r.cost ELSE 0 END), 0) AS prevCost,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevYearStartMonth AND :prevYearEndMonth THEN r.impressions ELSE 0 END), 0) AS prevYearImpressions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevYearStartMonth AND :prevYearEndMonth THEN r.clicks ELSE 0 END), 0) AS prevYearClicks,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevYearStartMonth AND :prevYearEndMonth THEN r.conversions ELSE 0 END), 0) AS prevYearConversions,
+                   COALESCE(SUM(CASE WHEN r.statsMonth BETWEEN :prevYearStartMonth AND :prevYearEndMonth THEN r.cost ELSE 0 END), 0) AS prevYearCost
+            FROM CampaignMonthlyMetric r
+            WHERE r.marketingChannel.id = :marketingChannelId
+              AND (r.statsMonth BETWEEN :startMonth AND :endMonth
+                   OR r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth
+                   OR r.statsMonth BETWEEN :prevYearStartMonth AND :prevYearEndMonth)
+            GROUP BY r.campaign.id, r.campaign.name, r.campaign.status, r.statsMonth
+            ORDER BY r.campaign.id, r.statsMonth
+            """)
+    List<CampaignMonthlyComparisonTotals> compareByCampaignAndMonth(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth,
+            @Param("prevStartMonth") LocalDate prevStartMonth,
+            @Param("prevEndMonth") LocalDate prevEndMonth,
+            @Param("prevYearStartMonth") LocalDate prevYearStartMonth,
+            @Param("prevYearEndMonth") LocalDate prevYearEndMonth
+    );
+}
@@ -3,12 +3,14 @@ package com.premiergroup.ad_metrics_hub.repository;
 import com.premiergroup.ad_metrics_hub.entity.Campaign;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
+import java.util.List;
 
 public interface CampaignRepository extends JpaRepository<Campaign, Integer> {
 
-    Optional<Campaign> findByMarketingChannel_IdAndCampaignId(
+    List<Campaign> findByMarketingChannel_IdAndAccountId(
             Integer marketingChannelsId,
-            String campaignId
+            Long accountId
     );
+
+    List<Campaign> findByMarketingChannel_Id(Integer marketingChannelsId);
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.premiergroup.ad_metrics_hub.repository;
+
+import com.premiergroup.ad_metrics_hub.entity.ChannelDailyMetric;
+import com.premiergroup.ad_metrics_hub.repository.projection.DailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.MonthlyMetricTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ChannelDailyMetricRepository extends JpaRepository<ChannelDailyMetric, Integer> {
+
+    /**
+     * Recomputes the channel's daily rows in [from, to] from {@code campaign_metrics}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO channel_daily_metrics
+                (marketing_channels_id, stats_date, impressions, clicks, conversions, cost)
+            SELECT cm.marketing_channels_id, cm.stats_date,
+                   COALESCE(SUM(cm.impressions), 0), COALESCE(SUM(cm.clicks), 0),
+                   COALESCE(SUM(cm.conversions), 0), COALESCE(SUM(cm.cost), 0)
+            FROM campaign_metrics cm
+            WHERE cm.marketing_channels_id = :marketingChannelId
+              AND cm.stats_date BETWEEN :from AND :to
+            GROUP BY cm.marketing_channels_id, cm.stats_date
+            ON DUPLICATE KEY UPDATE
+                impressions = VALUES(impressions),
+                clicks = VALUES(clicks),
+                conversions = VALUES(conversions),
+                cost = VALUES(cost)
+            """, nativeQuery = true)
+    int refresh(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Daily rows of [start, end] and of the comparison window [prevStart, prevEnd], in one scan.
+     */
+    @Query("""
+            SELECT r.statsDate AS statsDate,
+                   r.impressions AS impressions,
+                   r.clicks AS clicks,
+                   r.conversions AS conversions,
+                   r.cost AS cost
+            FROM ChannelDailyMetric r
+            WHERE r.marketingChannel.id = :marketingChannelId
+              AND (r.statsDate BETWEEN :start AND :end
+                   OR r.statsDate BETWEEN :prevStart AND :prevEnd)
+            ORDER BY r.statsDate
+            """)
+    List<DailyMetricTotals> sumByDay(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("prevStart") LocalDate prevStart,
+            @Param("prevEnd") LocalDate prevEnd
+    );
+
+    /**
+     * Monthly totals for windows that do not cover whole months. Like {@link #sumByDay}, returns
+     * rows for both [start, end] and the comparison window [prevStart, prevEnd].
+     */
+    @Query("""
+            SELECT YEAR(r.statsDate) AS statsYear,
+                   MONTH(r.statsDate) AS statsMonth,
+                   COALESCE(SUM(r.impressions), 0) AS impressions,
+                   COALESCE(SUM(r.clicks), 0) AS clicks,
+                   COALESCE(SUM(r.conversions), 0) AS conversions,
+                   COALESCE(SUM(r.cost), 0) AS cost
+            FROM ChannelDailyMetric r
+            WHERE r.marketingChannel.id = :marketingChannelId
+              AND (r.statsDate BETWEEN :start AND :end
+                   OR r.statsDate BETWEEN :prevStart AND :prevEnd)
+            GROUP BY YEAR(r.statsDate), MONTH(r.statsDate)
+            ORDER BY YEAR(r.statsDate), MONTH(r.statsDate)
+            """)
+    List<MonthlyMetricTotals> sumByMonth(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("prevStart") LocalDate prevStart,
+            @Param("prevEnd") LocalDate prevEnd
+    );
+}
@@ -0,0 +1,65 @@
+package com.premiergroup.ad_metrics_hub.repository;
+
+import com.premiergroup.ad_metrics_hub.entity.ChannelMonthlyMetric;
+import com.premiergroup.ad_metrics_hub.repository.projection.MonthlyMetricTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ChannelMonthlyMetricRepository extends JpaRepository<ChannelMonthlyMetric, Integer> {
+
+    /**
+     * Recomputes the channel's monthly rows in [fromMonth, toMonth] from {@code channel_daily_metrics},
+     * which must already be up to date for those months.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO channel_monthly_metrics
+                (marketing_channels_id, stats_month, impressions, clicks, conversions, cost)
+            SELECT d.marketing_channels_id,
+                   DATE_SUB(d.stats_date, INTERVAL DAYOFMONTH(d.stats_date) - 1 DAY) AS month_start,
+                   SUM(d.impressions), SUM(d.clicks), SUM(d.conversions), SUM(d.cost)
+            FROM channel_daily_metrics d
+            WHERE d.marketing_channels_id = :marketingChannelId
+              AND d.stats_date BETWEEN :fromMonth AND :toMonth
+            GROUP BY d.marketing_channels_id, month_start
+            ON DUPLICATE KEY UPDATE
+                impressions = VALUES(impressions),
+                clicks = VALUES(clicks),
+                conversions = VALUES(conversions),
+                cost = VALUES(cost)
+            """, nativeQuery = true)
+    int refresh(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth
+    );
+
+    /**
+     * Monthly rows of [startMonth, endMonth] and of the comparison window [prevStartMonth, prevEndMonth].
+     */
+    @Query("""
+            SELECT YEAR(r.statsMonth) AS statsYear,
+                   MONTH(r.statsMonth) AS statsMonth,
+                   r.impressions AS impressions,
+                   r.clicks AS clicks,
+                   r.conversions AS conversions,
+                   r.cost AS cost
+            FROM ChannelMonthlyMetric r
+            WHERE r.marketingChannel.id = :marketingChannelId
+              AND (r.statsMonth BETWEEN :startMonth AND :endMonth
+                   OR r.statsMonth BETWEEN :prevStartMonth AND :prevEndMonth)
+            ORDER BY r.statsMonth
+            """)
+    List<MonthlyMetricTotals> sumByMonth(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth,
+            @Param("prevStartMonth") LocalDate prevStartMonth,
+            @Param("prevEndMonth") LocalDate prevEndMonth
+    );
+}
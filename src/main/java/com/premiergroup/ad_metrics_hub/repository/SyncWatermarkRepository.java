@@ -0,0 +1,35 @@
+package com.premiergroup.ad_metrics_hub.repository;
+
+import com.premiergroup.ad_metrics_hub.entity.SyncWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, Integer> {
+
+    Optional<SyncWatermark> findByMarketingChannel_IdAndAccountId(
+            Integer marketingChannelsId,
+            Long accountId
+    );
+
+    /**
+     * Creates or moves the watermark forward in one statement; it never moves back.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sync_watermarks (marketing_channels_id, account_id, synced_through, updated_at)
+            VALUES (:marketingChannelId, :accountId, :syncedThrough, NOW())
+            ON DUPLICATE KEY UPDATE
+                synced_through = GREATEST(synced_through, VALUES(synced_through)),
+                updated_at = VALUES(updated_at)
+            """, nativeQuery = true)
+    int advance(
+            @Param("marketingChannelId") Integer marketingChannelId,
+            @Param("accountId") Long accountId,
+            @Param("syncedThrough") LocalDate syncedThrough
+    );
+}
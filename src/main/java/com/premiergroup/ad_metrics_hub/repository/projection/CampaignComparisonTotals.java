@@ -0,0 +1,23 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-campaign totals of a window ({@link MetricTotals} getters) and of the earlier window it is
+ * compared with ({@code getPrev*}), both summed by the same grouped statement.
+ */
+public interface CampaignComparisonTotals extends CampaignMetricTotals {
+
+    /**
+     * Rows the campaign has in the current window; zero when it only has earlier data.
+     */
+    Long getCurrentRows();
+
+    Long getPrevImpressions();
+
+    Long getPrevClicks();
+
+    Long getPrevConversions();
+
+    BigDecimal getPrevCost();
+}
@@ -0,0 +1,7 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+/**
+ * Core metrics of one campaign for a single day, with the campaign's name and status.
+ */
+public interface CampaignDailyMetricTotals extends CampaignMetricTotals, DailyMetricTotals {
+}
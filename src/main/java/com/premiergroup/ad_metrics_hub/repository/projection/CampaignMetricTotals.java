@@ -0,0 +1,13 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+/**
+ * Core metrics summed per campaign, carrying the campaign columns the dashboards display.
+ */
+public interface CampaignMetricTotals extends MetricTotals {
+
+    Integer getCampaignId();
+
+    String getCampaignName();
+
+    String getCampaignStatus();
+}
@@ -0,0 +1,33 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-campaign, per-month totals of a window ({@link MetricTotals} getters), of the preceding
+ * period it is compared with ({@code getPrev*}) and of the previous calendar year
+ * ({@code getPrevYear*}), all summed by the same grouped statement. A month the periods share
+ * carries each period's days in its own columns.
+ */
+public interface CampaignMonthlyComparisonTotals extends CampaignMonthlyMetricTotals {
+
+    /**
+     * Rows the campaign has in the current window this month; zero when it only has earlier data.
+     */
+    Long getCurrentRows();
+
+    Long getPrevImpressions();
+
+    Long getPrevClicks();
+
+    Long getPrevConversions();
+
+    BigDecimal getPrevCost();
+
+    Long getPrevYearImpressions();
+
+    Long getPrevYearClicks();
+
+    Long getPrevYearConversions();
+
+    BigDecimal getPrevYearCost();
+}
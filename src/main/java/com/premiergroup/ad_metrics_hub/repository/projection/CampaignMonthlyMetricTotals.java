@@ -0,0 +1,7 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+/**
+ * Core metrics summed per campaign and calendar month.
+ */
+public interface CampaignMonthlyMetricTotals extends CampaignMetricTotals, MonthlyMetricTotals {
+}
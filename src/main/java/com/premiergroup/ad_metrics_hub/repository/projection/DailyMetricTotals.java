@@ -0,0 +1,11 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Core metrics summed over every campaign of a channel for a single day.
+ */
+public interface DailyMetricTotals extends MetricTotals {
+
+    LocalDate getStatsDate();
+}
@@ -0,0 +1,18 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-summed core metrics returned by the aggregate queries, so callers never hydrate
+ * {@link com.premiergroup.ad_metrics_hub.entity.CampaignMetric} entities just to add them up.
+ */
+public interface MetricTotals {
+
+    Long getImpressions();
+
+    Long getClicks();
+
+    Long getConversions();
+
+    BigDecimal getCost();
+}
@@ -0,0 +1,17 @@
+package com.premiergroup.ad_metrics_hub.repository.projection;
+
+import java.time.YearMonth;
+
+/**
+ * Core metrics summed over every campaign of a channel for a calendar month.
+ */
+public interface MonthlyMetricTotals extends MetricTotals {
+
+    Integer getStatsYear();
+
+    Integer getStatsMonth();
+
+    default YearMonth getYearMonth() {
+        return YearMonth.of(getStatsYear(), getStatsMonth());
+    }
+}
@@ -1,33 +1,64 @@
 package com.premiergroup.ad_metrics_hub.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.premiergroup.ad_metrics_hub.aggregation.BucketIndex;
+import com.premiergroup.ad_metrics_hub.aggregation.CampaignIndex;
+import com.premiergroup.ad_metrics_hub.aggregation.CampaignSeries;
+import com.premiergroup.ad_metrics_hub.aggregation.DateWindow;
+import com.premiergroup.ad_metrics_hub.aggregation.MetricColumns;
+import com.premiergroup.ad_metrics_hub.aggregation.Micros;
 import com.premiergroup.ad_metrics_hub.dto.CampaignAdsStatsGraph;
 import com.premiergroup.ad_metrics_hub.dto.CampaignAdsStatsTableRow;
+import com.premiergroup.ad_metrics_hub.dto.DashboardAdsStats;
 import com.premiergroup.ad_metrics_hub.dto.MetricStats;
 import com.premiergroup.ad_metrics_hub.dto.WidgetAdsStats;
-import com.premiergroup.ad_metrics_hub.entity.Campaign;
-import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
 import com.premiergroup.ad_metrics_hub.enums.DateFilter;
 import com.premiergroup.ad_metrics_hub.enums.MetricFilter;
-import com.premiergroup.ad_metrics_hub.repository.CampaignMetricRepository;
+import com.premiergroup.ad_metrics_hub.enums.TableSort;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignDailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.DailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.MetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.MonthlyMetricTotals;
+import com.premiergroup.ad_metrics_hub.service.DashboardCache.View;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
-
-import static java.time.temporal.ChronoUnit.DAYS;
+import java.util.function.IntToLongFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Log4j2
 @AllArgsConstructor
 public class AdStatsService {
 
-    private CampaignMetricRepository campaignMetricRepository;
+    /**
+     * Decimal places of rates and relative changes, as fractions; shown as percentages with two decimals.
+     */
+    private static final int RATE_SCALE = 4;
+
+    private MetricQueryService metricQueryService;
+    private DashboardCache dashboardCache;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate transactionTemplate;
+    private MeterRegistry meterRegistry;
 
     public WidgetAdsStats getSWidgetAdsStats(
             Integer marketingChannelId,
@@ -35,130 +66,153 @@ public class AdStatsService {
             String startDate,
             String endDate
     ) {
-        LocalDate start = dateRange.getStartDate();
-        LocalDate end = dateRange.getEndDate();
-        boolean isMonthlyGroup = "MONTH".equals(dateRange.getType());
-
-        if (dateRange.equals(DateFilter.CUSTOM)) {
-            try {
-                start = LocalDate.parse(startDate);
-                end = LocalDate.parse(endDate);
-                isMonthlyGroup = DAYS.between(start, end) > 60;
-            } catch (Exception e) {
-                log.error("Invalid date format for custom date range: {} to {}", startDate, endDate, e);
-                throw new IllegalArgumentException("Invalid date format for custom date range");
-            }
-        }
+        return timed(View.WIDGET, marketingChannelId, dateRange, () -> {
+            DateWindow window = DateWindow.resolve(dateRange, startDate, endDate);
+            return dashboardCache.get(
+                    new DashboardCache.Key(View.WIDGET, marketingChannelId, dateRange, window.start(), window.end(), null, null, false),
+                    () -> computeWidgetAdsStats(marketingChannelId, window));
+        });
+    }
 
-        // 1) fetch all metrics in window
-        List<CampaignMetric> currentMetrics = campaignMetricRepository
-                .findByCampaign_MarketingChannel_IdAndStatsDateBetween(
-                        marketingChannelId, start, end);
-
-        // 2) group either by day or by YearMonth
-        // — daily grouping —
-        Map<LocalDate, Integer> imprByDay = new TreeMap<>();
-        Map<LocalDate, Integer> clicksByDay = new TreeMap<>();
-        Map<LocalDate, Integer> convByDay = new TreeMap<>();
-        Map<LocalDate, BigDecimal> costByDay = new TreeMap<>();
-        for (var cm : currentMetrics) {
-            LocalDate d = cm.getStatsDate();
-            imprByDay.merge(d, cm.getImpressions(), Integer::sum);
-            clicksByDay.merge(d, cm.getClicks(), Integer::sum);
-            convByDay.merge(d, cm.getConversions(), Integer::sum);
-            costByDay.merge(d, cm.getCost(), BigDecimal::add);
-        }
+    public CampaignAdsStatsGraph getCampaignAdsStatsGraph(
+            Integer marketingChannelId,
+            DateFilter dateRange,
+            String startDate,
+            String endDate,
+            MetricFilter metricFilter,
+            Integer top,
+            boolean zeroFill
+    ) {
+        return timed(View.GRAPH, marketingChannelId, dateRange, () -> {
+            DateWindow window = DateWindow.resolve(dateRange, startDate, endDate);
+            return dashboardCache.get(
+                    new DashboardCache.Key(View.GRAPH, marketingChannelId, dateRange, window.start(), window.end(),
+                            metricFilter, top, zeroFill),
+                    () -> computeCampaignAdsStatsGraph(marketingChannelId, window, metricFilter, top, zeroFill));
+        });
+    }
 
-        // — monthly grouping (THIS_YEAR) —
-        Map<YearMonth, Integer> imprByMonth = null;
-        Map<YearMonth, Integer> clicksByMonth = null;
-        Map<YearMonth, Integer> convByMonth = null;
-        Map<YearMonth, BigDecimal> costByMonth = null;
-        if (isMonthlyGroup) {
-            imprByMonth = currentMetrics.stream().collect(Collectors.groupingBy(
-                    cm -> YearMonth.from(cm.getStatsDate()),
-                    TreeMap::new,
-                    Collectors.summingInt(CampaignMetric::getImpressions)
-            ));
-            clicksByMonth = currentMetrics.stream().collect(Collectors.groupingBy(
-                    cm -> YearMonth.from(cm.getStatsDate()),
-                    TreeMap::new,
-                    Collectors.summingInt(CampaignMetric::getClicks)
-            ));
-            convByMonth = currentMetrics.stream().collect(Collectors.groupingBy(
-                    cm -> YearMonth.from(cm.getStatsDate()),
-                    TreeMap::new,
-                    Collectors.summingInt(CampaignMetric::getConversions)
-            ));
-            costByMonth = currentMetrics.stream().collect(Collectors.groupingBy(
-                    cm -> YearMonth.from(cm.getStatsDate()),
-                    TreeMap::new,
-                    Collectors.reducing(BigDecimal.ZERO, CampaignMetric::getCost, BigDecimal::add)
-            ));
-        }
+    public List<CampaignAdsStatsTableRow> getCampaignAdsStatsTable(
+            Integer marketingChannelId,
+            DateFilter dateRange,
+            String startDate,
+            String endDate
+    ) {
+        return timed(View.TABLE, marketingChannelId, dateRange, () -> {
+            DateWindow window = DateWindow.resolve(dateRange, startDate, endDate);
+            return dashboardCache.get(
+                    new DashboardCache.Key(View.TABLE, marketingChannelId, dateRange, window.start(), window.end(), null, null, false),
+                    () -> computeCampaignAdsStatsTable(marketingChannelId, window));
+        });
+    }
+
+    /**
+     * Widget, graph and table of one window in a single response, each identical to what its own
+     * endpoint returns for the same parameters.
+     */
+    public DashboardAdsStats getDashboard(
+            Integer marketingChannelId,
+            DateFilter dateRange,
+            String startDate,
+            String endDate,
+            MetricFilter metricFilter,
+            Integer top,
+            boolean zeroFill
+    ) {
+        return timed(View.DASHBOARD, marketingChannelId, dateRange, () -> {
+            DateWindow window = DateWindow.resolve(dateRange, startDate, endDate);
+            return dashboardCache.get(
+                    new DashboardCache.Key(View.DASHBOARD, marketingChannelId, dateRange, window.start(), window.end(),
+                            metricFilter, top, zeroFill),
+                    () -> computeDashboard(marketingChannelId, window, metricFilter, top, zeroFill));
+        });
+    }
 
-        // 3) compute current‐period totals
-        int totalImpr = (isMonthlyGroup
-                ? imprByMonth.values().stream().mapToInt(i -> i).sum()
-                : imprByDay.values().stream().mapToInt(i -> i).sum());
-        int totalClicks = (isMonthlyGroup
-                ? clicksByMonth.values().stream().mapToInt(i -> i).sum()
-                : clicksByDay.values().stream().mapToInt(i -> i).sum());
-        int totalConv = (isMonthlyGroup
-                ? convByMonth.values().stream().mapToInt(i -> i).sum()
-                : convByDay.values().stream().mapToInt(i -> i).sum());
-        BigDecimal totalCost = (isMonthlyGroup
-                ? costByMonth.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                : costByDay.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add));
-
-        // 4) compute previous‐period window & totals
-        LocalDate prevStart, prevEnd;
-        if (isMonthlyGroup) {
-            prevStart = start.minusYears(1).withDayOfYear(1);
-            prevEnd = prevStart.withDayOfYear(prevStart.lengthOfYear());
+    /**
+     * Streaming variant of {@link #getCampaignAdsStatsTable}: one page of rows, ordered in SQL by
+     * {@code sort}, written to the response as they are read instead of being collected first.
+     * The body is {@code {"page":..,"size":..,"rows":[..]}}. Bypasses the dashboard cache.
+     */
+    public StreamingResponseBody streamCampaignAdsStatsTable(
+            Integer marketingChannelId,
+            DateFilter dateRange,
+            String startDate,
+            String endDate,
+            TableSort sort,
+            Sort.Direction direction,
+            int page,
+            int size
+    ) {
+        // resolved up front so that invalid dates fail before the response is committed
+        DateWindow window = DateWindow.resolve(dateRange, startDate, endDate);
+        DateWindow prev = window.precedingPeriod();
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(direction, sort.property()).and(Sort.by("campaignId")));
+
+        return out -> transactionTemplate.executeWithoutResult(tx -> {
+            try (Stream<CampaignComparisonTotals> totals = metricQueryService.streamByCampaign(
+                    marketingChannelId, window.start(), window.end(), prev.start(), prev.end(), pageable);
+                 JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.writeStartObject();
+                json.writeNumberField("page", page);
+                json.writeNumberField("size", size);
+                json.writeArrayFieldStart("rows");
+                Iterator<CampaignComparisonTotals> rows = totals.iterator();
+                while (rows.hasNext()) {
+                    json.writeObject(toTableRow(rows.next()));
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private WidgetAdsStats computeWidgetAdsStats(Integer marketingChannelId, DateWindow window) {
+        BucketIndex buckets = window.buckets();
+
+        // 1) one scan over both periods: rows inside the window fill its buckets,
+        //    rows of the previous period (outside every bucket) fold into a single total
+        DateWindow prev = window.monthly() ? window.previousYear() : window.precedingPeriod();
+        MetricColumns series = new MetricColumns(buckets.size());
+        MetricColumns prevTotals = new MetricColumns(1);
+        if (window.monthly()) {
+            for (MonthlyMetricTotals row : metricQueryService.sumByMonth(
+                    marketingChannelId, window.start(), window.end(), prev.start(), prev.end())) {
+                int slot = buckets.offsetOf(row.getYearMonth().atDay(1));
+                addTotals(slot >= 0 ? series : prevTotals, Math.max(slot, 0), row);
+            }
         } else {
-            long days = DAYS.between(start, end) + 1;
-            prevEnd = start.minusDays(1);
-            prevStart = prevEnd.minusDays(days - 1);
+            for (DailyMetricTotals row : metricQueryService.sumByDay(
+                    marketingChannelId, window.start(), window.end(), prev.start(), prev.end())) {
+                int slot = buckets.offsetOf(row.getStatsDate());
+                addTotals(slot >= 0 ? series : prevTotals, Math.max(slot, 0), row);
+            }
         }
-        List<CampaignMetric> prevMetrics = campaignMetricRepository
-                .findByCampaign_MarketingChannel_IdAndStatsDateBetween(
-                        marketingChannelId, prevStart, prevEnd);
-
-        int prevImpr = prevMetrics.stream().mapToInt(CampaignMetric::getImpressions).sum();
-        int prevClicks = prevMetrics.stream().mapToInt(CampaignMetric::getClicks).sum();
-        int prevConv = prevMetrics.stream().mapToInt(CampaignMetric::getConversions).sum();
-        BigDecimal prevCost = prevMetrics.stream()
-                .map(CampaignMetric::getCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // 5) build the four core metrics
-        MetricStats<Integer> imprStats = buildIntStats(
-                isMonthlyGroup, imprByDay, imprByMonth, totalImpr, prevImpr);
-        MetricStats<Integer> clicksStats = buildIntStats(
-                isMonthlyGroup, clicksByDay, clicksByMonth, totalClicks, prevClicks);
-        MetricStats<Integer> convStats = buildIntStats(
-                isMonthlyGroup, convByDay, convByMonth, totalConv, prevConv);
-        MetricStats<BigDecimal> costStats = buildDecStats(
-                isMonthlyGroup, costByDay, costByMonth, totalCost, prevCost);
-
-        // 6) cost‐per‐conversion & conversion‐rate
-        MetricStats<BigDecimal> cpcStats = buildCostPerConversionStats(
-                isMonthlyGroup,
-                costByDay, costByMonth,
-                convByDay, convByMonth,
-                totalCost, totalConv,
-                prevCost, prevConv
-        );
-        MetricStats<BigDecimal> crStats = buildConversionRateStats(
-                isMonthlyGroup,
-                convByDay, convByMonth,
-                clicksByDay, clicksByMonth,
-                totalConv, totalClicks,
-                prevConv, prevClicks
-        );
 
-        // 7) return the full dashboard DTO
+        return buildWidget(buckets, series, prevTotals);
+    }
+
+    private WidgetAdsStats buildWidget(BucketIndex buckets, MetricColumns series, MetricColumns prevTotals) {
+        // 2) only buckets that have data get a label
+        int[] slots = series.presentSlots();
+        List<String> labels = labels(buckets, slots);
+
+        // 3) build the four core metrics
+        MetricStats<Integer> imprStats = buildIntStats(labels, slots, series::impressions,
+                series.totalImpressions(), prevTotals.totalImpressions());
+        MetricStats<Integer> clicksStats = buildIntStats(labels, slots, series::clicks,
+                series.totalClicks(), prevTotals.totalClicks());
+        MetricStats<Integer> convStats = buildIntStats(labels, slots, series::conversions,
+                series.totalConversions(), prevTotals.totalConversions());
+        MetricStats<BigDecimal> costStats = buildCostStats(labels, slots, series, prevTotals);
+
+        // 4) cost‐per‐conversion & conversion‐rate
+        MetricStats<BigDecimal> cpcStats = buildCostPerConversionStats(labels, slots, series, prevTotals);
+        MetricStats<BigDecimal> crStats = buildConversionRateStats(buckets, slots, series, prevTotals);
+
+        // 5) return the full dashboard DTO
         return new WidgetAdsStats(
                 imprStats,
                 clicksStats,
@@ -169,115 +223,79 @@ public class AdStatsService {
         );
     }
 
-    public CampaignAdsStatsGraph getCampaignAdsStatsGraph(
+    private CampaignAdsStatsGraph computeCampaignAdsStatsGraph(
             Integer marketingChannelId,
-            DateFilter dateRange,
-            String startDate,
-            String endDate,
-            MetricFilter metricFilter
+            DateWindow window,
+            MetricFilter metricFilter,
+            Integer top,
+            boolean zeroFill
     ) {
-        LocalDate start = dateRange.getStartDate();
-        LocalDate end = dateRange.getEndDate();
-        boolean isMonthlyGroup = "MONTH".equals(dateRange.getType());
-
-        if (dateRange.equals(DateFilter.CUSTOM)) {
-            try {
-                start = LocalDate.parse(startDate);
-                end = LocalDate.parse(endDate);
-                isMonthlyGroup = DAYS.between(start, end) > 60;
-            } catch (Exception e) {
-                log.error("Invalid date format for custom date range: {} to {}", startDate, endDate, e);
-                throw new IllegalArgumentException("Invalid date format for custom date range");
+        BucketIndex buckets = window.buckets();
+
+        // 1) single pass over the window: campaign totals, plus the selected metric per campaign and bucket
+        CampaignSeries<Integer> series = new CampaignSeries<>(buckets, metricFilter);
+        if (window.monthly()) {
+            for (CampaignMonthlyMetricTotals row : metricQueryService.sumByCampaignAndMonth(
+                    marketingChannelId, window.start(), window.end())) {
+                series.add(row.getCampaignId(), row.getCampaignName(), row.getYearMonth().atDay(1),
+                        row.getImpressions(), row.getClicks(), row.getConversions(), Micros.of(row.getCost()));
+            }
+        } else {
+            for (CampaignDailyMetricTotals row : metricQueryService.sumByCampaignAndDay(
+                    marketingChannelId, window.start(), window.end())) {
+                series.add(row.getCampaignId(), row.getCampaignName(), row.getStatsDate(),
+                        row.getImpressions(), row.getClicks(), row.getConversions(), Micros.of(row.getCost()));
             }
         }
 
-        // 1) fetch all metrics in window
-        List<CampaignMetric> metrics = campaignMetricRepository
-                .findByCampaign_MarketingChannel_IdAndStatsDateBetween(
-                        marketingChannelId,
-                        start,
-                        end
-                );
-
-        // 2) build the list of labels (strings)
-        List<String> labels = isMonthlyGroup
-                ? metrics.stream()
-                .map(cm -> YearMonth.from(cm.getStatsDate()))
-                .distinct()
-                .sorted()
-                .map(YearMonth::toString)
-                .toList()
-                : metrics.stream()
-                .map(cm -> cm.getStatsDate().toString())
-                .distinct()
-                .sorted()
-                .toList();
-
-        // 3) group metrics by campaign name and by period key
-        boolean finalIsMonthlyGroup = isMonthlyGroup;
-        Map<String, Map<String, List<CampaignMetric>>> grouped = metrics.stream()
-                .collect(Collectors.groupingBy(
-                        cm -> cm.getCampaign().getName(),
-                        Collectors.groupingBy(cm ->
-                                finalIsMonthlyGroup
-                                        ? YearMonth.from(cm.getStatsDate()).toString()
-                                        : cm.getStatsDate().toString()
-                        )
-                ));
-
-        // 4) for each campaign, build a list of metric values aligned to labels
-        List<Map<String, List<Integer>>> campaignValues = new ArrayList<>();
-        for (var entry : grouped.entrySet()) {
-            String campaignName = entry.getKey();
-            Map<String, List<CampaignMetric>> byPeriod = entry.getValue();
-
-            List<Integer> values = labels.stream()
-                    .map(label -> byPeriod.getOrDefault(label, List.of()).stream()
-                            .mapToInt(cm -> switch (metricFilter) {
-                                case CLICKS -> cm.getClicks();
-                                case IMPRESSIONS -> cm.getImpressions();
-                                case CONVERSIONS -> cm.getConversions();
-                            })
-                            .sum()
-                    )
-                    .toList();
-
-            campaignValues.add(Map.of(campaignName, values));
+        return buildGraph(buckets, series, top, zeroFill);
+    }
+
+    private CampaignAdsStatsGraph buildGraph(
+            BucketIndex buckets,
+            CampaignSeries<Integer> series,
+            Integer top,
+            boolean zeroFill
+    ) {
+        // 2) labels are every bucket of the window when zero-filling, otherwise those where any campaign has data
+        int[] slots = zeroFill ? buckets.allOffsets() : series.bucketsWithData();
+        List<String> labels = labels(buckets, slots);
+
+        // 3) for each campaign (only the top N by the selected metric, if asked), the metric values
+        //    aligned to labels, and cost per metric; the series are keyed by name, so campaigns
+        //    sharing a name are summed into one, as the graph has always shown them
+        CampaignIndex<Integer> campaigns = series.campaigns();
+        int[] selected = top == null ? series.allCampaigns() : series.topCampaigns(top);
+        Map<String, List<Integer>> slotsByName = new LinkedHashMap<>();
+        for (int c : selected) {
+            slotsByName.computeIfAbsent(campaigns.name(c), name -> new ArrayList<>()).add(c);
         }
+        List<Map<String, List<Integer>>> campaignValues = new ArrayList<>(slotsByName.size());
+        Map<String, BigDecimal> campaignCostsRelatedValues = new LinkedHashMap<>();
+        slotsByName.forEach((name, named) -> {
+            List<Integer> values = new ArrayList<>(slots.length);
+            for (int bucket : slots) {
+                long value = 0;
+                for (int c : named) {
+                    value += series.value(c, bucket);
+                }
+                values.add(Math.toIntExact(value));
+            }
+            campaignValues.add(Map.of(name, values));
 
-        // 5) compute total cost per campaign
-        Map<String, BigDecimal> campaignCostsRelatedValues = grouped.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,                        // campaign name
-                        e -> {
-                            // sum up all costs for this campaign
-                            BigDecimal totalCost = e.getValue().values().stream()
-                                    .flatMap(List::stream)
-                                    .map(CampaignMetric::getCost)      // assume BigDecimal getCost()
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                            // sum up all metrics for this campaign
-                            int totalMetric = e.getValue().values().stream()
-                                    .flatMap(List::stream)
-                                    .mapToInt(cm -> switch (metricFilter) {
-                                        case CLICKS -> cm.getClicks();
-                                        case IMPRESSIONS -> cm.getImpressions();
-                                        case CONVERSIONS -> cm.getConversions();
-                                    })
-                                    .sum();
-
-                            // avoid division-by-zero
-                            if (totalMetric == 0) {
-                                return BigDecimal.ZERO;
-                            }
-
-                            // cost per metric
-                            return totalCost
-                                    .divide(BigDecimal.valueOf(totalMetric), 2, RoundingMode.HALF_UP);
-                        }
-                ));
-
-        // 6) return with all three fields
+            long totalMetric = 0;
+            long costMicros = 0;
+            for (int c : named) {
+                totalMetric += series.total(c);
+                costMicros += series.costMicros(c);
+            }
+            // avoid division-by-zero
+            campaignCostsRelatedValues.put(name, totalMetric == 0
+                    ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(Micros.perUnit(costMicros, totalMetric, 2), 2));
+        });
+
+        // 4) return with all three fields
         return new CampaignAdsStatsGraph(
                 campaignValues,
                 campaignCostsRelatedValues,
@@ -285,261 +303,339 @@ public class AdStatsService {
         );
     }
 
-    public List<CampaignAdsStatsTableRow> getCampaignAdsStatsTable(
+    private List<CampaignAdsStatsTableRow> computeCampaignAdsStatsTable(
             Integer marketingChannelId,
-            DateFilter dateRange,
-            String startDate,
-            String endDate
+            DateWindow window
     ) {
-        LocalDate start = dateRange.getStartDate();
-        LocalDate end = dateRange.getEndDate();
-
-        if (dateRange.equals(DateFilter.CUSTOM)) {
-            try {
-                start = LocalDate.parse(startDate);
-                end = LocalDate.parse(endDate);
-            } catch (Exception e) {
-                log.error("Invalid date format for custom date range: {} to {}", startDate, endDate, e);
-                throw new IllegalArgumentException("Invalid date format for custom date range");
+        // — determine previous period window —
+        DateWindow prev = window.precedingPeriod();
+
+        // — per-campaign totals for both periods, from one grouped statement —
+        List<CampaignComparisonTotals> totals = metricQueryService.compareByCampaign(
+                marketingChannelId, window.start(), window.end(), prev.start(), prev.end());
+
+        // — one slot per campaign; only campaigns with data in the current period get a row —
+        CampaignIndex<Integer> campaigns = new CampaignIndex<>();
+        MetricColumns curr = new MetricColumns(totals.size());
+        MetricColumns previous = new MetricColumns(totals.size());
+        for (CampaignComparisonTotals row : totals) {
+            if (row.getCurrentRows() == 0) {
+                continue;
             }
+            int slot = campaigns.add(row.getCampaignId(), row.getCampaignName(), row.getCampaignStatus());
+            addTotals(curr, slot, row);
+            previous.add(slot, row.getPrevImpressions(), row.getPrevClicks(), row.getPrevConversions(),
+                    Micros.of(row.getPrevCost()));
         }
 
-        // — determine previous period window —
-        long days = DAYS.between(start, end) + 1;
-        LocalDate prevEnd = start.minusDays(1);
-        LocalDate prevStart = prevEnd.minusDays(days - 1);
-
-        // — fetch metrics for both periods, only ACTIVE/ENABLED campaigns —
-        List<CampaignMetric> currMetrics = campaignMetricRepository
-                .findByCampaign_MarketingChannel_IdAndStatsDateBetween(
-                        marketingChannelId, start, end);
-        List<CampaignMetric> prevMetrics = campaignMetricRepository
-                .findByCampaign_MarketingChannel_IdAndStatsDateBetween(
-                        marketingChannelId, prevStart, prevEnd);
-
-        // — group by Campaign —
-        Map<Campaign, List<CampaignMetric>> currByCamp = currMetrics.stream()
-                .collect(Collectors.groupingBy(CampaignMetric::getCampaign));
-        Map<Campaign, List<CampaignMetric>> prevByCamp = prevMetrics.stream()
-                .collect(Collectors.groupingBy(CampaignMetric::getCampaign));
-
-        List<CampaignAdsStatsTableRow> rows = new ArrayList<>();
-        for (var entry : currByCamp.entrySet()) {
-            Campaign campaign = entry.getKey();
-            List<CampaignMetric> cmCurr = entry.getValue();
-            List<CampaignMetric> cmPrev = prevByCamp.getOrDefault(campaign, List.of());
-
-            // — current totals —
-            int currImpr = cmCurr.stream().mapToInt(CampaignMetric::getImpressions).sum();
-            int currClicks = cmCurr.stream().mapToInt(CampaignMetric::getClicks).sum();
-            int currConv = cmCurr.stream().mapToInt(CampaignMetric::getConversions).sum();
-            BigDecimal currCost = cmCurr.stream()
-                    .map(CampaignMetric::getCost)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal currCPC = currConv > 0
-                    ? currCost.divide(BigDecimal.valueOf(currConv), 2, RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
-            BigDecimal currCR = currClicks > 0
-                    ? BigDecimal.valueOf(currConv)
-                    .divide(BigDecimal.valueOf(currClicks), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    : BigDecimal.ZERO;
-
-            // — previous totals —
-            int prevImpr = cmPrev.stream().mapToInt(CampaignMetric::getImpressions).sum();
-            int prevClicks = cmPrev.stream().mapToInt(CampaignMetric::getClicks).sum();
-            int prevConv = cmPrev.stream().mapToInt(CampaignMetric::getConversions).sum();
-            BigDecimal prevCost = cmPrev.stream()
-                    .map(CampaignMetric::getCost)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal prevCPC = prevConv > 0
-                    ? prevCost.divide(BigDecimal.valueOf(prevConv), 2, RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
-            BigDecimal prevCR = prevClicks > 0
-                    ? BigDecimal.valueOf(prevConv)
-                    .divide(BigDecimal.valueOf(prevClicks), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    : BigDecimal.ZERO;
-
-            // — percent changes —
-            BigDecimal imprPct = percentChange(BigDecimal.valueOf(currImpr), BigDecimal.valueOf(prevImpr));
-            BigDecimal clicksPct = percentChange(BigDecimal.valueOf(currClicks), BigDecimal.valueOf(prevClicks));
-            BigDecimal convPct = percentChange(BigDecimal.valueOf(currConv), BigDecimal.valueOf(prevConv));
-            BigDecimal costPct = percentChange(currCost, prevCost);
-            BigDecimal cpcPct = percentChange(currCPC, prevCPC);
-            BigDecimal crPct = percentChange(currCR, prevCR);
-
-            // — wrap into MetricStats (empty labels/values) —
-            var imprStats = new MetricStats<>(List.of(), List.of(), currImpr, imprPct);
-            var clicksStats = new MetricStats<>(List.of(), List.of(), currClicks, clicksPct);
-            var convStats = new MetricStats<>(List.of(), List.of(), currConv, convPct);
-            var costStats = new MetricStats<>(List.of(), List.of(), currCost, costPct);
-            var cpcStats = new MetricStats<>(List.of(), List.of(), currCPC, cpcPct);
-            var crStats = new MetricStats<>(List.of(), List.of(), currCR, crPct);
-
-            // — assemble row —
-            rows.add(new CampaignAdsStatsTableRow(
-                    campaign.getName(),
-                    campaign.getStatus(),    // assuming getStatus() returns CampaignStatus
-                    imprStats,
-                    clicksStats,
-                    convStats,
-                    costStats,
-                    cpcStats,
-                    crStats
-            ));
+        return buildTable(campaigns, curr, previous);
+    }
+
+    /**
+     * Widget, graph and table together.
+     * <p>
+     * For day buckets the preceding period all three compare against is contiguous with the
+     * window, so a single per-campaign, per-day scan over both feeds every part: rows inside the
+     * window go to the widget buckets, the graph series and the campaign's current totals, earlier
+     * rows to the widget's previous total and the campaign's previous totals. Month buckets compare
+     * the widget against the previous calendar year and the table against the preceding period,
+     * so their per-campaign, per-month scan sums each period into its own columns instead.
+     */
+    private DashboardAdsStats computeDashboard(
+            Integer marketingChannelId,
+            DateWindow window,
+            MetricFilter metricFilter,
+            Integer top,
+            boolean zeroFill
+    ) {
+        if (window.monthly()) {
+            return computeMonthlyDashboard(marketingChannelId, window, metricFilter, top, zeroFill);
+        }
+
+        BucketIndex buckets = window.buckets();
+        DateWindow prev = window.precedingPeriod();
+
+        // 1) one scan over [prev.start, window.end], split by whether the day falls in a bucket
+        MetricColumns series = new MetricColumns(buckets.size());
+        MetricColumns prevTotals = new MetricColumns(1);
+        CampaignSeries<Integer> campaignSeries = new CampaignSeries<>(buckets, metricFilter);
+        CampaignIndex<Integer> campaigns = new CampaignIndex<>();
+        MetricColumns curr = new MetricColumns(16);
+        MetricColumns previous = new MetricColumns(16);
+        for (CampaignDailyMetricTotals row : metricQueryService.sumByCampaignAndDay(
+                marketingChannelId, prev.start(), window.end())) {
+            int campaign = campaigns.find(row.getCampaignId());
+            if (campaign < 0) {
+                campaign = campaigns.add(row.getCampaignId(), row.getCampaignName(), row.getCampaignStatus());
+            }
+            long costMicros = Micros.of(row.getCost());
+            int slot = buckets.offsetOf(row.getStatsDate());
+            if (slot >= 0) {
+                series.add(slot, row.getImpressions(), row.getClicks(), row.getConversions(), costMicros);
+                campaignSeries.add(row.getCampaignId(), row.getCampaignName(), row.getStatsDate(),
+                        row.getImpressions(), row.getClicks(), row.getConversions(), costMicros);
+                curr.add(campaign, row.getImpressions(), row.getClicks(), row.getConversions(), costMicros);
+            } else {
+                prevTotals.add(0, row.getImpressions(), row.getClicks(), row.getConversions(), costMicros);
+                previous.add(campaign, row.getImpressions(), row.getClicks(), row.getConversions(), costMicros);
+            }
+        }
+
+        // 2) each part built exactly as its own endpoint builds it
+        return new DashboardAdsStats(
+                buildWidget(buckets, series, prevTotals),
+                buildGraph(buckets, campaignSeries, top, zeroFill),
+                buildTable(campaigns, curr, previous)
+        );
+    }
+
+    private DashboardAdsStats computeMonthlyDashboard(
+            Integer marketingChannelId,
+            DateWindow window,
+            MetricFilter metricFilter,
+            Integer top,
+            boolean zeroFill
+    ) {
+        BucketIndex buckets = window.buckets();
+        DateWindow prev = window.precedingPeriod();
+        DateWindow prevYear = window.previousYear();
+
+        // 1) one scan over the window and both comparison periods, each summed into its own columns
+        MetricColumns series = new MetricColumns(buckets.size());
+        MetricColumns prevTotals = new MetricColumns(1);
+        CampaignSeries<Integer> campaignSeries = new CampaignSeries<>(buckets, metricFilter);
+        CampaignIndex<Integer> campaigns = new CampaignIndex<>();
+        MetricColumns curr = new MetricColumns(16);
+        MetricColumns previous = new MetricColumns(16);
+        for (CampaignMonthlyComparisonTotals row : metricQueryService.compareByCampaignAndMonth(
+                marketingChannelId, window.start(), window.end(), prev.start(), prev.end(),
+                prevYear.start(), prevYear.end())) {
+            int campaign = campaigns.find(row.getCampaignId());
+            if (campaign < 0) {
+                campaign = campaigns.add(row.getCampaignId(), row.getCampaignName(), row.getCampaignStatus());
+            }
+            if (row.getCurrentRows() > 0) {
+                long costMicros = Micros.of(row.getCost());
+                LocalDate month = row.getYearMonth().atDay(1);
+                series.add(buckets.offsetOf(month), row.getImpressions(), row.getClicks(), row.getConversions(),
+                        costMicros);
+                campaignSeries.add(row.getCampaignId(), row.getCampaignName(), month,
+                        row.getImpressions(), row.getClicks(), row.getConversions(), costMicros);
+                curr.add(campaign, row.getImpressions(), row.getClicks(), row.getConversions(), costMicros);
+            }
+            prevTotals.add(0, row.getPrevYearImpressions(), row.getPrevYearClicks(), row.getPrevYearConversions(),
+                    Micros.of(row.getPrevYearCost()));
+            previous.add(campaign, row.getPrevImpressions(), row.getPrevClicks(), row.getPrevConversions(),
+                    Micros.of(row.getPrevCost()));
         }
 
+        // 2) each part built exactly as its own endpoint builds it
+        return new DashboardAdsStats(
+                buildWidget(buckets, series, prevTotals),
+                buildGraph(buckets, campaignSeries, top, zeroFill),
+                buildTable(campaigns, curr, previous)
+        );
+    }
+
+    /**
+     * One row per campaign with data in the current period, in slot order.
+     */
+    private List<CampaignAdsStatsTableRow> buildTable(
+            CampaignIndex<Integer> campaigns,
+            MetricColumns curr,
+            MetricColumns previous
+    ) {
+        List<CampaignAdsStatsTableRow> rows = new ArrayList<>(campaigns.size());
+        for (int slot = 0; slot < campaigns.size(); slot++) {
+            if (curr.isPresent(slot)) {
+                rows.add(buildTableRow(campaigns.name(slot), campaigns.status(slot), curr, previous, slot));
+            }
+        }
         return rows;
     }
 
     // ——— helpers ———
 
-    private BigDecimal percentChange(BigDecimal curr, BigDecimal prev) {
-        if (prev.compareTo(BigDecimal.ZERO) == 0) {
-            return curr.compareTo(BigDecimal.ZERO) == 0
+    /**
+     * Records {@code ads.dashboard.request}, cache hits included, tagged by view, channel and date filter.
+     */
+    private <T> T timed(View view, Integer marketingChannelId, DateFilter dateRange, Supplier<T> request) {
+        return Timer.builder("ads.dashboard.request")
+                .tag("view", view.name())
+                .tag("channel", String.valueOf(marketingChannelId))
+                .tag("dateFilter", String.valueOf(dateRange))
+                .register(meterRegistry)
+                .record(request);
+    }
+
+    private CampaignAdsStatsTableRow toTableRow(CampaignComparisonTotals row) {
+        MetricColumns curr = new MetricColumns(1);
+        MetricColumns previous = new MetricColumns(1);
+        addTotals(curr, 0, row);
+        previous.add(0, row.getPrevImpressions(), row.getPrevClicks(), row.getPrevConversions(),
+                Micros.of(row.getPrevCost()));
+        return buildTableRow(row.getCampaignName(), row.getCampaignStatus(), curr, previous, 0);
+    }
+
+    private CampaignAdsStatsTableRow buildTableRow(
+            String campaignName,
+            String status,
+            MetricColumns curr,
+            MetricColumns prev,
+            int slot
+    ) {
+        // — current totals —
+        int currImpr = Math.toIntExact(curr.impressions(slot));
+        int currClicks = Math.toIntExact(curr.clicks(slot));
+        int currConv = Math.toIntExact(curr.conversions(slot));
+        long currCost = curr.costMicros(slot);
+        long currCPC = costPerConversion(currCost, currConv, 2);
+        long currCR = conversionRate(currConv, currClicks);
+
+        // — previous totals —
+        long prevConv = prev.conversions(slot);
+        long prevCost = prev.costMicros(slot);
+        long prevCPC = costPerConversion(prevCost, prevConv, 2);
+        long prevCR = conversionRate(prevConv, prev.clicks(slot));
+
+        // — wrap into MetricStats (empty labels/values) with percent changes —
+        return new CampaignAdsStatsTableRow(
+                campaignName,
+                status,
+                new MetricStats<>(List.of(), List.of(), currImpr, percentChange(currImpr, prev.impressions(slot))),
+                new MetricStats<>(List.of(), List.of(), currClicks, percentChange(currClicks, prev.clicks(slot))),
+                new MetricStats<>(List.of(), List.of(), currConv, percentChange(currConv, prevConv)),
+                new MetricStats<>(List.of(), List.of(), Micros.toDecimal(currCost, 2),
+                        percentChange(currCost, prevCost)),
+                new MetricStats<>(List.of(), List.of(), decimal(currConv > 0, currCPC, 2),
+                        percentChange(currCPC, prevCPC)),
+                new MetricStats<>(List.of(), List.of(), percent(currClicks > 0, currCR),
+                        percentChange(currCR, prevCR))
+        );
+    }
+
+    /**
+     * {@code (curr - prev) / prev} in percent, or 100 when only {@code curr} is non-zero. Both
+     * values must be in the same unit; rounded to two decimals of a percent, with scale 4.
+     */
+    private BigDecimal percentChange(long curr, long prev) {
+        if (prev == 0) {
+            return curr == 0
                     ? BigDecimal.ZERO
                     : BigDecimal.valueOf(100);
         }
-        return curr
-                .subtract(prev)
-                .divide(prev, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100));
+        return percent(true, Micros.ratio(curr - prev, prev, RATE_SCALE));
+    }
+
+    /**
+     * Conversions per click, unscaled with {@link #RATE_SCALE} decimals; zero without clicks.
+     */
+    private long conversionRate(long conversions, long clicks) {
+        return clicks > 0 ? Micros.ratio(conversions, clicks, RATE_SCALE) : 0;
+    }
+
+    /**
+     * Cost per conversion, unscaled with {@code scale} decimals; zero without conversions.
+     */
+    private long costPerConversion(long costMicros, long conversions, int scale) {
+        return conversions > 0 ? Micros.perUnit(costMicros, conversions, scale) : 0;
+    }
+
+    /**
+     * A {@link #RATE_SCALE} fraction as a percentage; a plain zero when it could not be computed.
+     */
+    private BigDecimal percent(boolean defined, long fraction) {
+        return defined ? BigDecimal.valueOf(fraction * 100, RATE_SCALE) : BigDecimal.ZERO;
+    }
+
+    private BigDecimal decimal(boolean defined, long unscaled, int scale) {
+        return defined ? BigDecimal.valueOf(unscaled, scale) : BigDecimal.ZERO;
+    }
+
+    private void addTotals(MetricColumns columns, int slot, MetricTotals row) {
+        columns.add(slot, row.getImpressions(), row.getClicks(), row.getConversions(), Micros.of(row.getCost()));
+    }
+
+    private List<String> labels(BucketIndex buckets, int[] slots) {
+        List<String> labels = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            labels.add(buckets.label(slot));
+        }
+        return labels;
     }
 
     private MetricStats<Integer> buildIntStats(
-            boolean isYear,
-            Map<LocalDate, Integer> daily,
-            Map<YearMonth, Integer> monthly,
-            int total,
-            int prevTotal
+            List<String> labels,
+            int[] slots,
+            IntToLongFunction column,
+            long total,
+            long prevTotal
     ) {
-        // choose the right series & labels
-        List<String> labels = (isYear
-                ? monthly.keySet().stream().map(YearMonth::toString)
-                : daily.keySet().stream().map(LocalDate::toString)
-        ).toList();
-
-        Collection<Integer> values = (isYear
-                ? monthly.values()
-                : daily.values()
-        );
-
-        BigDecimal pct = percentChange(
-                BigDecimal.valueOf(total),
-                BigDecimal.valueOf(prevTotal)
-        );
+        List<Integer> values = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            values.add(Math.toIntExact(column.applyAsLong(slot)));
+        }
 
-        return new MetricStats<>(labels, values, total, pct);
+        return new MetricStats<>(labels, values, Math.toIntExact(total), percentChange(total, prevTotal));
     }
 
-    private MetricStats<BigDecimal> buildDecStats(
-            boolean isYear,
-            Map<LocalDate, BigDecimal> daily,
-            Map<YearMonth, BigDecimal> monthly,
-            BigDecimal total,
-            BigDecimal prevTotal
+    private MetricStats<BigDecimal> buildCostStats(
+            List<String> labels,
+            int[] slots,
+            MetricColumns series,
+            MetricColumns prev
     ) {
-        List<String> labels = (isYear
-                ? monthly.keySet().stream().map(YearMonth::toString)
-                : daily.keySet().stream().map(LocalDate::toString)
-        ).toList();
-
-        Collection<BigDecimal> values = (isYear
-                ? monthly.values()
-                : daily.values()
-        );
+        List<BigDecimal> values = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            values.add(Micros.toDecimal(series.costMicros(slot), 2));
+        }
 
-        BigDecimal pct = percentChange(total, prevTotal);
+        BigDecimal total = Micros.toDecimal(series.totalCostMicros(), 2);
+        BigDecimal pct = percentChange(series.totalCostMicros(), prev.totalCostMicros());
         return new MetricStats<>(labels, values, total, pct);
     }
 
     private MetricStats<BigDecimal> buildCostPerConversionStats(
-            boolean isYear,
-            Map<LocalDate, BigDecimal> dailyCost,
-            Map<YearMonth, BigDecimal> monthlyCost,
-            Map<LocalDate, Integer> dailyConv,
-            Map<YearMonth, Integer> monthlyConv,
-            BigDecimal totalCost,
-            int totalConv,
-            BigDecimal prevCost,
-            int prevConv
+            List<String> labels,
+            int[] slots,
+            MetricColumns series,
+            MetricColumns prev
     ) {
-        // pick source maps
-        Map<?, BigDecimal> costMap = isYear ? monthlyCost : dailyCost;
-        Map<?, Integer> convMap = isYear ? monthlyConv : dailyConv;
-
-        // compute per‐bucket series
-        Map<Object, BigDecimal> series = new TreeMap<>();
-        costMap.forEach((k, c) -> {
-            int conv = convMap.getOrDefault(k, 0);
-            if (conv > 0) {
-                series.put(k, c.divide(BigDecimal.valueOf(conv), 4, RoundingMode.HALF_UP));
-            } else {
-                series.put(k, BigDecimal.ZERO); // no conversions, set to zero
-            }
-        });
-
-        List<String> labels = series.keySet().stream()
-                .map(Object::toString).toList();
-        Collection<BigDecimal> values = series.values();
+        // per‐bucket series, zero when the bucket has no conversions
+        List<BigDecimal> values = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            long conv = series.conversions(slot);
+            values.add(decimal(conv > 0, costPerConversion(series.costMicros(slot), conv, 4), 4));
+        }
 
-        BigDecimal avgThis = (totalConv > 0)
-                ? totalCost.divide(BigDecimal.valueOf(totalConv), 4, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
-        BigDecimal avgPrev = (prevConv > 0)
-                ? prevCost.divide(BigDecimal.valueOf(prevConv), 4, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        long avgThis = costPerConversion(series.totalCostMicros(), series.totalConversions(), 4);
+        long avgPrev = costPerConversion(prev.totalCostMicros(), prev.totalConversions(), 4);
         BigDecimal pct = percentChange(avgThis, avgPrev);
 
-        return new MetricStats<>(labels, values, avgThis, pct);
+        return new MetricStats<>(labels, values, decimal(series.totalConversions() > 0, avgThis, 4), pct);
     }
 
     private MetricStats<BigDecimal> buildConversionRateStats(
-            boolean isYear,
-            Map<LocalDate, Integer> dailyConv,
-            Map<YearMonth, Integer> monthlyConv,
-            Map<LocalDate, Integer> dailyClicks,
-            Map<YearMonth, Integer> monthlyClicks,
-            int totalConv,
-            int totalClicks,
-            int prevConv,
-            int prevClicks
+            BucketIndex buckets,
+            int[] slots,
+            MetricColumns series,
+            MetricColumns prev
     ) {
-        Map<?, Integer> convMap = isYear ? monthlyConv : dailyConv;
-        Map<?, Integer> clickMap = isYear ? monthlyClicks : dailyClicks;
-
-        Map<Object, BigDecimal> series = new TreeMap<>();
-        clickMap.forEach((k, clicks) -> {
-            int conv = convMap.getOrDefault(k, 0);
+        // buckets without clicks are left out of the series altogether
+        List<String> labels = new ArrayList<>(slots.length);
+        List<BigDecimal> values = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            long clicks = series.clicks(slot);
             if (clicks > 0) {
-                BigDecimal rate = BigDecimal.valueOf(conv)
-                        .divide(BigDecimal.valueOf(clicks), 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
-                series.put(k, rate);
+                labels.add(buckets.label(slot));
+                values.add(percent(true, conversionRate(series.conversions(slot), clicks)));
             }
-        });
+        }
 
-        List<String> labels = series.keySet().stream()
-                .map(Object::toString).toList();
-        Collection<BigDecimal> values = series.values();
-
-        BigDecimal rateThis = (totalClicks > 0)
-                ? BigDecimal.valueOf(totalConv)
-                .divide(BigDecimal.valueOf(totalClicks), 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
-        BigDecimal ratePrev = (prevClicks > 0)
-                ? BigDecimal.valueOf(prevConv)
-                .divide(BigDecimal.valueOf(prevClicks), 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
+        long rateThis = conversionRate(series.totalConversions(), series.totalClicks());
+        long ratePrev = conversionRate(prev.totalConversions(), prev.totalClicks());
         BigDecimal pct = percentChange(rateThis, ratePrev);
 
-        return new MetricStats<>(labels, values, rateThis, pct);
+        return new MetricStats<>(labels, values, percent(series.totalClicks() > 0, rateThis), pct);
     }
-
-
 }
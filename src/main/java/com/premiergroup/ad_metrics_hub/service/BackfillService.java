@@ -0,0 +1,263 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.premiergroup.ad_metrics_hub.dto.BackfillJobStatus;
+import com.premiergroup.ad_metrics_hub.entity.BackfillChunk;
+import com.premiergroup.ad_metrics_hub.entity.BackfillJob;
+import com.premiergroup.ad_metrics_hub.enums.BackfillStatus;
+import com.premiergroup.ad_metrics_hub.repository.BackfillChunkRepository;
+import com.premiergroup.ad_metrics_hub.repository.BackfillJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs historical loads as background jobs.
+ * <p>
+ * A job syncs the campaign list, then splits [watermark - lookback or first stat date, today]
+ * into chunks of {@code ads.backfill.chunk-months} calendar months. Chunks run on a pool of
+ * {@code ads.backfill.workers} threads, each in its own transaction, and their status is stored
+ * in {@code backfill_chunks}, so after a restart a job carries on with the chunks it had not
+ * finished. The watermarks move to the job's end date only when every chunk has completed.
+ * <p>
+ * A channel with several ad accounts is backfilled by one job over all of them, from the
+ * earliest account watermark; each chunk syncs every account.
+ */
+@Service
+@Log4j2
+public class BackfillService {
+
+    private static final Set<BackfillStatus> ACTIVE = EnumSet.of(BackfillStatus.PENDING, BackfillStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final Map<Integer, ChannelSyncService> channels;
+    private final BackfillJobRepository backfillJobRepository;
+    private final BackfillChunkRepository backfillChunkRepository;
+    private final SyncWatermarkService syncWatermarkService;
+    private final ExecutorService workers;
+    private final int chunkMonths;
+
+    public BackfillService(List<ChannelSyncService> channelSyncServices,
+                           BackfillJobRepository backfillJobRepository,
+                           BackfillChunkRepository backfillChunkRepository,
+                           SyncWatermarkService syncWatermarkService,
+                           @Value("${ads.backfill.workers}") int workerCount,
+                           @Value("${ads.backfill.chunk-months}") int chunkMonths) {
+        this.channels = channelSyncServices.stream()
+                .collect(Collectors.toMap(ChannelSyncService::marketingChannelId, Function.identity()));
+        this.backfillJobRepository = backfillJobRepository;
+        this.backfillChunkRepository = backfillChunkRepository;
+        this.syncWatermarkService = syncWatermarkService;
+        this.workers = Executors.newFixedThreadPool(workerCount, Thread.ofPlatform().name("backfill-", 0).factory());
+        this.chunkMonths = chunkMonths;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // running chunks are left RUNNING and requeued on the next start
+        workers.shutdownNow();
+    }
+
+    /**
+     * Starts a backfill for the channel, or returns the one already in progress.
+     *
+     * @throws IllegalArgumentException if no sync service handles the channel
+     */
+    public BackfillJobStatus submit(int marketingChannelId) {
+        ChannelSyncService channel = channels.get(marketingChannelId);
+        if (channel == null) {
+            throw new IllegalArgumentException("Unsupported marketing channel: " + marketingChannelId);
+        }
+
+        synchronized (this) {
+            Optional<BackfillJob> running = backfillJobRepository
+                    .findFirstByMarketingChannelIdAndStatusIn(marketingChannelId, ACTIVE);
+            if (running.isPresent()) {
+                return toStatus(running.get());
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            BackfillJob job = backfillJobRepository.save(BackfillJob.builder()
+                    .marketingChannelId(marketingChannelId)
+                    .status(BackfillStatus.PENDING)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            workers.execute(() -> plan(job.getId()));
+            log.info("Submitted backfill job {} for channel {}", job.getId(), marketingChannelId);
+            return toStatus(job);
+        }
+    }
+
+    public Optional<BackfillJobStatus> status(Integer jobId) {
+        return backfillJobRepository.findById(jobId).map(this::toStatus);
+    }
+
+    /**
+     * Picks up the jobs that were pending or running when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (BackfillJob job : backfillJobRepository.findByStatusIn(ACTIVE)) {
+            if (job.getStatus() == BackfillStatus.PENDING) {
+                // stopped while planning: the chunk list may be incomplete
+                backfillChunkRepository.deleteByJobId(job.getId());
+                workers.execute(() -> plan(job.getId()));
+            } else {
+                backfillChunkRepository.requeueRunning(job.getId());
+                dispatch(job.getId());
+            }
+            log.info("Resuming backfill job {} for channel {}", job.getId(), job.getMarketingChannelId());
+        }
+    }
+
+    // ——— job steps ———
+
+    private void plan(Integer jobId) {
+        BackfillJob job = backfillJobRepository.findById(jobId).orElseThrow();
+        ChannelSyncService channel = channels.get(job.getMarketingChannelId());
+        try {
+            // 1) Campaigns first, so every chunk can resolve its rows
+            channel.syncCampaigns(job.getMarketingChannelId());
+
+            // 2) Resume from the earliest account watermark, or load the full history if any account has none
+            List<Optional<LocalDate>> resumeDates = channel.accountIds().stream()
+                    .map(account -> syncWatermarkService.resumeFrom(job.getMarketingChannelId(), account))
+                    .toList();
+            LocalDate start = resumeDates.isEmpty() || resumeDates.stream().anyMatch(Optional::isEmpty)
+                    ? channel.firstStatDate()
+                    : resumeDates.stream().map(Optional::get).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDate end = LocalDate.now();
+
+            // 3) Chunks aligned to calendar months, so each rollup month is rebuilt from whole days
+            List<BackfillChunk> chunks = new ArrayList<>();
+            for (LocalDate from = start; !from.isAfter(end); ) {
+                LocalDate next = from.withDayOfMonth(1).plusMonths(chunkMonths);
+                LocalDate to = next.minusDays(1).isAfter(end) ? end : next.minusDays(1);
+                chunks.add(BackfillChunk.builder()
+                        .jobId(jobId)
+                        .chunkStart(from)
+                        .chunkEnd(to)
+                        .status(BackfillStatus.PENDING)
+                        .attempts(0)
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+                from = next;
+            }
+            backfillChunkRepository.saveAll(chunks);
+
+            job.setStartDate(start);
+            job.setEndDate(end);
+            job.setStatus(BackfillStatus.RUNNING);
+            job.setUpdatedAt(LocalDateTime.now());
+            backfillJobRepository.save(job);
+            log.info("Backfill job {}: {} chunks from {} to {}", jobId, chunks.size(), start, end);
+        } catch (Exception e) {
+            log.error("Backfill job {} could not be planned", jobId, e);
+            job.setStatus(BackfillStatus.FAILED);
+            job.setError(truncate(e.getMessage()));
+            job.setUpdatedAt(LocalDateTime.now());
+            backfillJobRepository.save(job);
+            return;
+        }
+        dispatch(jobId);
+    }
+
+    private void dispatch(Integer jobId) {
+        List<BackfillChunk> pending =
+                backfillChunkRepository.findByJobIdAndStatusOrderByChunkStart(jobId, BackfillStatus.PENDING);
+        if (pending.isEmpty()) {
+            finishIfDone(jobId);
+            return;
+        }
+        for (BackfillChunk chunk : pending) {
+            workers.execute(() -> runChunk(chunk));
+        }
+    }
+
+    private void runChunk(BackfillChunk chunk) {
+        BackfillJob job = backfillJobRepository.findById(chunk.getJobId()).orElseThrow();
+        ChannelSyncService channel = channels.get(job.getMarketingChannelId());
+
+        chunk.setStatus(BackfillStatus.RUNNING);
+        chunk.setAttempts(chunk.getAttempts() + 1);
+        chunk.setUpdatedAt(LocalDateTime.now());
+        backfillChunkRepository.save(chunk);
+
+        try {
+            channel.syncMetricsForDate(job.getMarketingChannelId(), chunk.getChunkStart(), chunk.getChunkEnd());
+            chunk.setStatus(BackfillStatus.COMPLETED);
+            chunk.setError(null);
+        } catch (Exception e) {
+            log.error("Backfill job {} chunk {} to {} failed",
+                    job.getId(), chunk.getChunkStart(), chunk.getChunkEnd(), e);
+            chunk.setStatus(BackfillStatus.FAILED);
+            chunk.setError(truncate(e.getMessage()));
+        }
+        chunk.setUpdatedAt(LocalDateTime.now());
+        backfillChunkRepository.save(chunk);
+
+        finishIfDone(job.getId());
+    }
+
+    private synchronized void finishIfDone(Integer jobId) {
+        if (backfillChunkRepository.countByJobIdAndStatusIn(jobId, ACTIVE) > 0) {
+            return;
+        }
+        BackfillJob job = backfillJobRepository.findById(jobId).orElseThrow();
+        if (!ACTIVE.contains(job.getStatus())) {
+            return;
+        }
+
+        long failed = backfillChunkRepository.countByJobIdAndStatus(jobId, BackfillStatus.FAILED);
+        if (failed == 0) {
+            for (long account : channels.get(job.getMarketingChannelId()).accountIds()) {
+                syncWatermarkService.advance(job.getMarketingChannelId(), account, job.getEndDate());
+            }
+            job.setStatus(BackfillStatus.COMPLETED);
+        } else {
+            job.setStatus(BackfillStatus.FAILED);
+            job.setError(failed + " chunks failed");
+        }
+        job.setUpdatedAt(LocalDateTime.now());
+        backfillJobRepository.save(job);
+        log.info("Backfill job {} finished: {}", jobId, job.getStatus());
+    }
+
+    private BackfillJobStatus toStatus(BackfillJob job) {
+        return new BackfillJobStatus(
+                job.getId(),
+                job.getMarketingChannelId(),
+                job.getStatus(),
+                job.getStartDate(),
+                job.getEndDate(),
+                backfillChunkRepository.countByJobId(job.getId()),
+                backfillChunkRepository.countByJobIdAndStatus(job.getId(), BackfillStatus.COMPLETED),
+                backfillChunkRepository.countByJobIdAndStatus(job.getId(), BackfillStatus.FAILED),
+                job.getError()
+        );
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,248 +1,402 @@
 package com.premiergroup.ad_metrics_hub.service;
 
-import com.microsoft.bingads.ApiEnvironment;
 import com.microsoft.bingads.AuthorizationData;
-import com.microsoft.bingads.ServiceClient;
-import com.microsoft.bingads.v13.campaignmanagement.CampaignType;
-import com.microsoft.bingads.v13.campaignmanagement.GetCampaignsByAccountIdRequest;
-import com.microsoft.bingads.v13.campaignmanagement.GetCampaignsByAccountIdResponse;
-import com.microsoft.bingads.v13.campaignmanagement.ICampaignManagementService;
-import com.microsoft.bingads.v13.reporting.*;
+import com.premiergroup.ad_metrics_hub.aggregation.Micros;
 import com.premiergroup.ad_metrics_hub.entity.Campaign;
-import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
 import com.premiergroup.ad_metrics_hub.entity.MarketingChannel;
-import com.premiergroup.ad_metrics_hub.repository.CampaignMetricRepository;
+import com.premiergroup.ad_metrics_hub.event.MetricsSyncedEvent;
+import com.premiergroup.ad_metrics_hub.ingestion.BingReportCsvReader;
+import com.premiergroup.ad_metrics_hub.ingestion.IngestionMetrics;
+import com.premiergroup.ad_metrics_hub.ingestion.MetricBatchWriter;
+import com.premiergroup.ad_metrics_hub.ingestion.MetricRecord;
+import com.premiergroup.ad_metrics_hub.ingestion.IngestionPipeline;
+import com.premiergroup.ad_metrics_hub.ingestion.MetricSource;
 import com.premiergroup.ad_metrics_hub.repository.CampaignRepository;
 import com.premiergroup.ad_metrics_hub.repository.MarketingChannelRepository;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
+import java.io.FilterReader;
 import java.io.IOException;
-import java.math.BigDecimal;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Stream;
-
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Syncs Bing Ads campaigns and metrics of every account in {@code ads.ingestion.bing.account-ids}.
+ * <p>
+ * The Reporting API builds reports asynchronously and is polled until they are ready, so the
+ * reports of all accounts are requested at once, up to {@code ads.ingestion.bing.report-concurrency}
+ * at a time. Each report is parsed on its own fetch thread as soon as it is ready, and the rows of
+ * all of them go to the single writer. With {@link DownloadMode#STREAM} the report is parsed while
+ * it downloads, without a temp file.
+ */
 @Service
 @Log4j2
-@AllArgsConstructor
-public class BingAdsAPIService {
+@RequiredArgsConstructor
+public class BingAdsAPIService implements ChannelSyncService {
 
     private final AuthorizationData authorizationData;
+    private final BingAdsClient bingAdsClient;
     private final CampaignRepository campaignRepository;
-    private final CampaignMetricRepository metricRepository;
+    private final MetricBatchWriter metricBatchWriter;
     private final MarketingChannelRepository channelRepository;
+    private final RollupService rollupService;
+    private final SyncWatermarkService syncWatermarkService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngestionMetrics metrics;
+    private final IngestionPipeline ingestionPipeline;
+    private final Map<Long, AuthorizationData> accountAuthorizations = new ConcurrentHashMap<>();
+
+    @Value("${ads.ingestion.bing.account-ids}")
+    private List<Long> accountIds;
+
+    @Value("${ads.ingestion.bing.report-concurrency}")
+    private int reportConcurrency;
+
+    @Value("${ads.ingestion.bing.download-mode}")
+    private DownloadMode downloadMode;
 
     /**
      * Scheduled task to sync Bing Ads campaigns and metrics daily each hour at 59 minutes past the hour.
+     * Runs in one transaction, so the watermarks commit together with the metrics they cover, and
+     * a failure, including a checked SDK fault while listing campaigns, rolls both back.
      */
     @Scheduled(cron = "0 59 * * * *")
-    public void dailyBingAdsSync() {
+    @Transactional(rollbackFor = Exception.class)
+    public void dailyBingAdsSync() throws Exception {
         int marketingChannelId = 5;                     //Bing Ads channel ID
 
-        try {
-            log.info("Starting scheduled Bing Ads sync");
+        log.info("Starting scheduled Bing Ads sync");
 
-            // Ensure campaigns are up to date
-            syncCampaigns(marketingChannelId);
-            // Sync metrics since the last day
-            syncMetricsForDate(marketingChannelId, LocalDate.now().minusDays(1), LocalDate.now());
-            log.info("Completed scheduled Bing Ads sync");
-        } catch (Exception ex) {
-            log.error("Error during scheduled Bing Ads sync", ex);
+        // Ensure campaigns are up to date
+        syncCampaigns(marketingChannelId);
+
+        // Sync each account since its own watermark, or the last day for a never-synced account
+        LocalDate end = LocalDate.now();
+        Map<Long, LocalDate> starts = new LinkedHashMap<>();
+        for (long account : accountIds) {
+            starts.put(account, syncWatermarkService.resumeFrom(marketingChannelId, account)
+                    .orElseGet(() -> end.minusDays(1)));
         }
+        Set<Long> failed = syncMetrics(marketingChannelId, starts, end);
+
+        // Only accounts whose report was read move forward; the others retry the same days next time
+        LocalDate start = Collections.min(starts.values());
+        rollupService.refresh(marketingChannelId, start, end);
+        for (long account : accountIds) {
+            if (!failed.contains(account)) {
+                syncWatermarkService.advance(marketingChannelId, account, end);
+            }
+        }
+        eventPublisher.publishEvent(new MetricsSyncedEvent(marketingChannelId, start, end));
+        log.info("Completed scheduled Bing Ads sync of {} accounts ({} failed)", accountIds.size(), failed.size());
+    }
+
+    @Override
+    public int marketingChannelId() {
+        return 5;                                           //Bing Ads channel ID
+    }
+
+    @Override
+    public List<Long> accountIds() {
+        return accountIds;
+    }
+
+    /**
+     * Bing has no cheap way to find the first day with data, so full-history loads start here.
+     */
+    @Override
+    public LocalDate firstStatDate() {
+        return LocalDate.of(2000, 1, 1);
     }
 
     /**
-     * Fetches all campaigns from Bing Ads and persists or updates them in the DB.
+     * Fetches all campaigns of every account from Bing Ads and persists or updates them in the DB,
+     * looking each account's known campaigns up at once.
      */
+    @Override
     @Transactional
     public void syncCampaigns(int marketingChannelId) throws com.microsoft.bingads.v13.campaignmanagement.ApiFaultDetail_Exception, com.microsoft.bingads.v13.campaignmanagement.AdApiFaultDetail_Exception {
         MarketingChannel channel = channelRepository.findById(marketingChannelId)
                 .orElseThrow(() -> new IllegalArgumentException("Channel not found: " + marketingChannelId));
 
-        List<com.microsoft.bingads.v13.campaignmanagement.Campaign> svcCampaigns = getAllCampaigns(authorizationData);
+        for (long account : accountIds) {
+            List<com.microsoft.bingads.v13.campaignmanagement.Campaign> svcCampaigns =
+                    bingAdsClient.getCampaigns(authorizationFor(account));
+
+            Map<String, Campaign> existing = new HashMap<>();
+            for (Campaign c : campaignRepository.findByMarketingChannel_IdAndAccountId(channel.getId(), account)) {
+                existing.put(c.getCampaignId(), c);
+            }
+
+            for (com.microsoft.bingads.v13.campaignmanagement.Campaign svc : svcCampaigns) {
+                Campaign entity = existing.get(String.valueOf(svc.getId()));
+                if (entity == null) {
+                    entity = Campaign.builder()
+                            .marketingChannel(channel)
+                            .accountId(account)
+                            .campaignId(String.valueOf(svc.getId()))
+                            .name(svc.getName())
+                            .status(svc.getStatus().value().toUpperCase())
+                            .build();
+                }
 
-        for (com.microsoft.bingads.v13.campaignmanagement.Campaign svc : svcCampaigns) {
-            Optional<Campaign> existing = campaignRepository
-                    .findByMarketingChannel_IdAndCampaignId(channel.getId(), String.valueOf(svc.getId()));
+                campaignRepository.save(entity);
+            }
+        }
+    }
 
-            Campaign entity = existing.orElseGet(() -> Campaign.builder()
-                    .marketingChannel(channel)
-                    .campaignId(String.valueOf(svc.getId()))
-                    .name(svc.getName())
-                    .status(svc.getStatus().value().toUpperCase())
-                    .build());
+    /**
+     * Downloads the campaign performance reports of every account for a date range, parses them,
+     * and saves metrics. Fails, rolling back, if any report could not be downloaded.
+     */
+    @Override
+    @Transactional
+    public void syncMetricsForDate(int marketingChannelId, LocalDate startDate, LocalDate endDate) {
+        channelRepository.findById(marketingChannelId)
+                .orElseThrow(() -> new IllegalArgumentException("Channel not found: " + marketingChannelId));
 
-            campaignRepository.save(entity);
+        Map<Long, LocalDate> starts = new LinkedHashMap<>();
+        for (long account : accountIds) {
+            starts.put(account, startDate);
         }
+        Set<Long> failed = syncMetrics(marketingChannelId, starts, endDate);
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Bing Ads reports of accounts " + failed + " could not be downloaded");
+        }
+
+        rollupService.refresh(marketingChannelId, startDate, endDate);
+        eventPublisher.publishEvent(new MetricsSyncedEvent(marketingChannelId, startDate, endDate));
     }
 
     /**
-     * Downloads a full history campaign performance report, parses it, and saves metrics.
+     * Requests the report of each account, from its own start date through {@code end}, and runs
+     * them through the {@link IngestionPipeline}: each report is parsed on its fetch thread as soon
+     * as it is ready, and the rows are upserted in batches from the calling thread.
+     *
+     * @return the accounts whose report could not be read
      */
-    public void syncAllMetrics(int marketingChannelId) throws ExecutionException, InterruptedException {
-        // Download report for entire range
-        LocalDate start = LocalDate.of(2000, 1, 1);
-        // LocalDate end = LocalDate.now().minusDays(1);
-        LocalDate end = LocalDate.now();
+    private Set<Long> syncMetrics(int marketingChannelId, Map<Long, LocalDate> starts, LocalDate end) {
+        // 1) Resolve platform campaign IDs once instead of per report line
+        Map<Long, Map<Long, Integer>> campaignIds = new HashMap<>();
+        for (Campaign c : campaignRepository.findByMarketingChannel_Id(marketingChannelId)) {
+            campaignIds.computeIfAbsent(c.getAccountId(), account -> new HashMap<>())
+                    .put(Long.parseLong(c.getCampaignId()), c.getId());
+        }
+        List<ReportTask> reports = new ArrayList<>();
+        starts.forEach((account, start) -> reports.add(new ReportTask(account, start, end)));
+
+        // 2) Request every account's report at once; the fetchers mostly wait on Bing building them
+        ReportSource source = new ReportSource(marketingChannelId, campaignIds);
+        Timer.Sample syncSample = metrics.start();
+        try (MetricBatchWriter.Batch batch = metricBatchWriter.open()) {
+            for (ReportTask report : ingestionPipeline.run(reports, task -> Boolean.TRUE, reportConcurrency,
+                    source, batch)) {
+                source.failed.add(report.accountId());
+            }
+        } finally {
+            metrics.sync(syncSample, IngestionMetrics.BING);
+            metrics.rowsFetched(IngestionMetrics.BING, source.rows.sum());
+            metrics.unknownCampaignRows(IngestionMetrics.BING, source.skipped.sum());
+        }
+        if (!source.unknown.isEmpty()) {
+            log.info("Skipped {} Bing report rows of {} unknown campaigns", source.skipped.sum(), source.unknown.size());
+        }
+        return source.failed;
+    }
 
-        //Additionally, call dailyBingAdsSync scheduled task for daily updates
-        syncMetricsForDate(marketingChannelId, start, end);
+    /**
+     * The report of one account to fetch.
+     */
+    private record ReportTask(long accountId, LocalDate start, LocalDate end) {
     }
 
-    @Transactional
-    public void syncMetricsForDate(int marketingChannelId, LocalDate startDate, LocalDate endDate)
-            throws ExecutionException, InterruptedException {
-        MarketingChannel channel = channelRepository.findById(marketingChannelId)
-                .orElseThrow(() -> new IllegalArgumentException("Channel not found: " + marketingChannelId));
+    /**
+     * A report line of one account, copied out of the reader's reused {@link BingReportCsvReader.Row}.
+     */
+    private record ReportLine(long accountId, long campaignId, LocalDate date, long impressions, long clicks,
+                              long spendMicros, long ctrMicros, long averageCpcMicros, long conversions,
+                              long conversionRateMicros) {
+    }
 
-        File csv = downloadCampaignPerformanceReport(authorizationData, startDate, endDate);
+    /**
+     * The campaign performance reports of accounts: each report is downloaded and parsed in the
+     * fetch stage, and the lines are routed to their campaign through {@code campaignIds}, by
+     * account and platform campaign ID, in the transform stage; lines of campaigns we don't know are skipped. A failed report is logged
+     * and its account added to {@code failed}.
+     */
+    private final class ReportSource implements MetricSource<ReportTask, ReportLine> {
+
+        private final int marketingChannelId;
+        private final Map<Long, Map<Long, Integer>> campaignIds;
+        private final Set<Long> unknown = ConcurrentHashMap.newKeySet();
+        private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+
+        ReportSource(int marketingChannelId, Map<Long, Map<Long, Integer>> campaignIds) {
+            this.marketingChannelId = marketingChannelId;
+            this.campaignIds = campaignIds;
+        }
 
-        try (Stream<String> lines = Files.lines(csv.toPath())) {
-            lines.skip(11).forEach(line -> {
-                String[] cols = line.split(",");
-                if (cols.length != 9) {
-                    log.warn("Skipping malformed line: {}", line);
+        @Override
+        public String channel() {
+            return IngestionMetrics.BING;
+        }
+
+        @Override
+        public void fetch(ReportTask report, Emitter<ReportLine> emitter) throws InterruptedException {
+            long accountId = report.accountId();
+            try (Reader reader = openReport(accountId, report.start(), report.end())) {
+                if (reader == null) {
                     return;
                 }
+                ParseClock clock = new ParseClock(reader);
+                BingReportCsvReader.Summary summary = new BingReportCsvReader(clock).read(row -> {
+                    long waitStart = System.nanoTime();
+                    try {
+                        emitter.emit(new ReportLine(accountId, row.campaignId(), row.date(), row.impressions(),
+                                row.clicks(), row.spendMicros(), row.ctrMicros(), row.averageCpcMicros(),
+                                row.conversions(), row.conversionRateMicros()));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while parsing report", e);
+                    } finally {
+                        clock.exclude(waitStart);
+                    }
+                });
+                metrics.parse(IngestionMetrics.BING, clock.parseNanos());
+                log.info("Parsed {} Bing report rows of account {} ({} malformed)",
+                        summary.rows(), accountId, summary.malformed());
+                metrics.malformedRows(IngestionMetrics.BING, summary.malformed());
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                failed.add(accountId);
+                log.error("Error reading Bing report of account {}: {}", accountId, e.getMessage());
+            }
+        }
 
-                LocalDate statsDate = LocalDate.parse(cols[0].replace("\"", ""));
-                String svcCampId = cols[1].replace("\"", "");
-                int impressions = Integer.parseInt(cols[2].replace("\"", ""));
-                int clicks = Integer.parseInt(cols[3].replace("\"", ""));
-                BigDecimal spend = new BigDecimal(cols[4].replace("\"", ""));
-                BigDecimal ctr = new BigDecimal(
-                        cols[5].replace("\"", "").replace("%", "").trim().isEmpty()
-                                ? "0" : cols[5].replace("\"", "").replace("%", "").trim()
-                );
-                BigDecimal avgCpc = new BigDecimal(cols[6].replace("\"", ""));
-                int conversions = Integer.parseInt(cols[7].replace("\"", ""));
-                BigDecimal convRate = new BigDecimal(
-                        cols[8].replace("\"", "").replace("%", "").trim().isEmpty()
-                                ? "0" : cols[8].replace("\"", "").replace("%", "").trim()
-                );
-
-                Campaign camp = campaignRepository
-                        .findByMarketingChannel_IdAndCampaignId(channel.getId(), svcCampId)
-                        .orElseThrow(() -> new IllegalStateException("Unknown campaign: " + svcCampId));
-
-                // 1. Look for existing metric
-                Optional<CampaignMetric> existingOpt =
-                        metricRepository.findByCampaign_IdAndStatsDate(camp.getId(), statsDate);
-
-                CampaignMetric metric = existingOpt
-                        .orElseGet(() -> CampaignMetric.builder()
-                                .campaign(camp)
-                                .statsDate(statsDate)
-                                .build());
-
-                // 2. Update or set fields
-                metric.setImpressions(impressions);
-                metric.setClicks(clicks);
-                metric.setCost(spend);
-                metric.setCtr(ctr);
-                metric.setAvgCpc(avgCpc);
-                metric.setConversions(conversions);
-                metric.setConversionRate(convRate);
-
-                // TODO: values for costPerConversion, conversionValue, valuePerConversion, roas,
-
-                // 3. Save each metric (will insert or update)
-                metricRepository.save(metric);
-            });
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to parse report: " + csv.getAbsolutePath(), e);
+        @Override
+        public MetricRecord transform(ReportLine line) {
+            Integer campaignId = campaignIds.getOrDefault(line.accountId(), Map.of()).get(line.campaignId());
+            if (campaignId == null) {
+                if (unknown.add(line.campaignId())) {
+                    log.warn("Skipping rows of unknown campaign: {}", line.campaignId());
+                }
+                skipped.increment();
+                return null;
+            }
+            rows.increment();
+
+            // TODO: values for costPerConversion, conversionValue, valuePerConversion, roas,
+            return new MetricRecord(
+                    campaignId,
+                    marketingChannelId,
+                    line.accountId(),
+                    line.date(),
+                    Math.toIntExact(line.clicks()),
+                    Math.toIntExact(line.impressions()),
+                    Micros.toDecimal(line.spendMicros()),
+                    Micros.toDecimal(line.ctrMicros()),
+                    Micros.toDecimal(line.averageCpcMicros()),
+                    Math.toIntExact(line.conversions()),
+                    Micros.toDecimal(line.conversionRateMicros()),
+                    null, null, null, null
+            );
         }
     }
 
     /**
-     * Helper: fetch all campaigns via CampaignManagement API
+     * Time spent parsing a report: from its creation, less the reads of the wrapped reader (the
+     * download itself, in {@link DownloadMode#STREAM} mode) and the {@link #exclude excluded}
+     * waits for the pipeline to take the rows.
      */
-    private List<com.microsoft.bingads.v13.campaignmanagement.Campaign> getAllCampaigns(AuthorizationData auth) throws com.microsoft.bingads.v13.campaignmanagement.ApiFaultDetail_Exception, com.microsoft.bingads.v13.campaignmanagement.AdApiFaultDetail_Exception {
-        ServiceClient<ICampaignManagementService> svc =
-                new ServiceClient<>(auth, ICampaignManagementService.class);
+    private static final class ParseClock extends FilterReader {
+
+        private final long began = System.nanoTime();
+        private long excluded;
+
+        ParseClock(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.read(cbuf, off, len);
+            } finally {
+                excluded += System.nanoTime() - start;
+            }
+        }
+
+        void exclude(long since) {
+            excluded += System.nanoTime() - since;
+        }
 
-        GetCampaignsByAccountIdRequest req = new GetCampaignsByAccountIdRequest();
-        req.setAccountId(auth.getAccountId());
-        req.setCampaignType(Arrays.asList(CampaignType.SEARCH, CampaignType.DYNAMIC_SEARCH_ADS));
+        long parseNanos() {
+            return System.nanoTime() - began - excluded;
+        }
+    }
 
-        GetCampaignsByAccountIdResponse resp = svc.getService().getCampaignsByAccountId(req);
-        return resp.getCampaigns().getCampaigns();
+    /**
+     * The report CSV of one account, or null if it has no data in the range. In
+     * {@link DownloadMode#FILE} mode the downloaded temp file is deleted when the reader is closed.
+     */
+    private Reader openReport(long accountId, LocalDate start, LocalDate end)
+            throws ExecutionException, InterruptedException, IOException {
+        AuthorizationData auth = authorizationFor(accountId);
+        if (downloadMode == DownloadMode.STREAM) {
+            return bingAdsClient.openCampaignPerformanceReport(auth, start, end);
+        }
+        File csv = bingAdsClient.downloadCampaignPerformanceReport(auth, start, end);
+        if (csv == null) {
+            return null;
+        }
+        return new InputStreamReader(
+                Files.newInputStream(csv.toPath(), StandardOpenOption.DELETE_ON_CLOSE), StandardCharsets.UTF_8);
     }
 
     /**
-     * Helper: download a CampaignPerformance report for a custom date range
+     * The configured credentials, scoped to one account of the customer.
      */
-    private File downloadCampaignPerformanceReport(
-            AuthorizationData auth,
-            LocalDate customStart,
-            LocalDate customEnd
-    ) throws ExecutionException, InterruptedException {
-        ReportingServiceManager mgr = new ReportingServiceManager(auth, ApiEnvironment.PRODUCTION);
-        CampaignPerformanceReportRequest req = new CampaignPerformanceReportRequest();
-        req.setFormat(ReportFormat.CSV);
-        req.setReportName("AllCampaignStats");
-        req.setAggregation(ReportAggregation.DAILY);
-
-        AccountThroughCampaignReportScope scope = new AccountThroughCampaignReportScope();
-        ArrayOflong aIds = new ArrayOflong();
-        aIds.getLongs().add(auth.getAccountId());
-        scope.setAccountIds(aIds);
-        req.setScope(scope);
-
-        ReportTime time = getReportTime(customStart, customEnd);
-        req.setTime(time);
-
-        ArrayOfCampaignPerformanceReportColumn cols = new ArrayOfCampaignPerformanceReportColumn();
-        cols.getCampaignPerformanceReportColumns().addAll(Arrays.asList(
-                CampaignPerformanceReportColumn.TIME_PERIOD,
-                CampaignPerformanceReportColumn.CAMPAIGN_ID,
-                CampaignPerformanceReportColumn.IMPRESSIONS,
-                CampaignPerformanceReportColumn.CLICKS,
-                CampaignPerformanceReportColumn.SPEND,
-                CampaignPerformanceReportColumn.CTR,
-                CampaignPerformanceReportColumn.AVERAGE_CPC,
-                CampaignPerformanceReportColumn.CONVERSIONS,
-                CampaignPerformanceReportColumn.CONVERSION_RATE
-        ));
-        req.setColumns(cols);
-
-        String tmp = System.getProperty("java.io.tmpdir");
-        File tmpDir = new File(tmp, "bingReports");
-        tmpDir.mkdirs();  // ensure it exists
-
-        ReportingDownloadParameters dl = new ReportingDownloadParameters();
-        dl.setReportRequest(req);
-        dl.setResultFileDirectory(tmpDir);
-        dl.setResultFileName("campaign_report.csv");
-        dl.setOverwriteResultFile(true);
-
-        File reportFile = mgr.downloadFileAsync(dl, null).get();
-        log.info("Report saved: {}", reportFile.getAbsolutePath());
-        return reportFile;
+    private AuthorizationData authorizationFor(long accountId) {
+        return accountAuthorizations.computeIfAbsent(accountId, id -> {
+            AuthorizationData auth = new AuthorizationData();
+            auth.setDeveloperToken(authorizationData.getDeveloperToken());
+            auth.setCustomerId(authorizationData.getCustomerId());
+            auth.setAccountId(id);
+            auth.setAuthentication(authorizationData.getAuthentication());
+            return auth;
+        });
     }
 
-    private static ReportTime getReportTime(LocalDate customStart, LocalDate customEnd) {
-        ReportTime time = new ReportTime();
-        Date start = new Date();
-        start.setDay(customStart.getDayOfMonth());
-        start.setMonth(customStart.getMonthValue());
-        start.setYear(customStart.getYear());
-        Date end = new Date();
-        end.setDay(customEnd.getDayOfMonth());
-        end.setMonth(customEnd.getMonthValue());
-        end.setYear(customEnd.getYear());
-        time.setCustomDateRangeStart(start);
-        time.setCustomDateRangeEnd(end);
-        return time;
+    public enum DownloadMode {
+        /** Download each report to a temp file, then parse it. */
+        FILE,
+        /** Parse each report while it downloads, with no temp file. */
+        STREAM
     }
 }
@@ -0,0 +1,355 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.microsoft.bingads.ApiEnvironment;
+import com.microsoft.bingads.AuthorizationData;
+import com.microsoft.bingads.ServiceClient;
+import com.microsoft.bingads.v13.campaignmanagement.AdApiFaultDetail_Exception;
+import com.microsoft.bingads.v13.campaignmanagement.ApiFaultDetail_Exception;
+import com.microsoft.bingads.v13.campaignmanagement.Campaign;
+import com.microsoft.bingads.v13.campaignmanagement.CampaignType;
+import com.microsoft.bingads.v13.campaignmanagement.GetCampaignsByAccountIdRequest;
+import com.microsoft.bingads.v13.campaignmanagement.GetCampaignsByAccountIdResponse;
+import com.microsoft.bingads.v13.campaignmanagement.ICampaignManagementService;
+import com.microsoft.bingads.v13.reporting.AccountThroughCampaignReportScope;
+import com.microsoft.bingads.v13.reporting.ArrayOfCampaignPerformanceReportColumn;
+import com.microsoft.bingads.v13.reporting.ArrayOflong;
+import com.microsoft.bingads.v13.reporting.CampaignPerformanceReportColumn;
+import com.microsoft.bingads.v13.reporting.CampaignPerformanceReportRequest;
+import com.microsoft.bingads.v13.reporting.Date;
+import com.microsoft.bingads.v13.reporting.ReportAggregation;
+import com.microsoft.bingads.v13.reporting.ReportFormat;
+import com.microsoft.bingads.v13.reporting.ReportRequestStatusType;
+import com.microsoft.bingads.v13.reporting.ReportTime;
+import com.microsoft.bingads.v13.reporting.ReportingDownloadOperation;
+import com.microsoft.bingads.v13.reporting.ReportingDownloadParameters;
+import com.microsoft.bingads.v13.reporting.ReportingOperationStatus;
+import com.microsoft.bingads.v13.reporting.ReportingServiceManager;
+import com.premiergroup.ad_metrics_hub.ingestion.IngestionMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The Bing Ads SDK calls of {@link BingAdsAPIService}: listing campaigns and downloading the daily
+ * campaign performance report, either to a file or streamed from its download URL. Kept apart from the sync logic so it can be replaced by a local
+ * stand-in, as the ingestion benchmark does.
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class BingAdsClient {
+
+    /**
+     * Until the response headers of a report download arrive.
+     */
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofMinutes(30);
+
+    /**
+     * Longest a read of a streamed report may wait for the next bytes before the download is closed.
+     */
+    private static final Duration DOWNLOAD_IDLE_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration DOWNLOAD_IDLE_CHECK = Duration.ofSeconds(10);
+
+    private final IngestionMetrics metrics;
+    private final HttpClient http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    private final ScheduledExecutorService downloadWatchdog = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("bing-download-watchdog").daemon().factory());
+
+    @PreDestroy
+    void shutdown() {
+        downloadWatchdog.shutdownNow();
+    }
+
+    /**
+     * Fetches all campaigns of the account via the CampaignManagement API.
+     */
+    public List<Campaign> getCampaigns(AuthorizationData auth) throws ApiFaultDetail_Exception, AdApiFaultDetail_Exception {
+        ServiceClient<ICampaignManagementService> svc =
+                new ServiceClient<>(auth, ICampaignManagementService.class);
+
+        GetCampaignsByAccountIdRequest req = new GetCampaignsByAccountIdRequest();
+        req.setAccountId(auth.getAccountId());
+        req.setCampaignType(Arrays.asList(CampaignType.SEARCH, CampaignType.DYNAMIC_SEARCH_ADS));
+
+        Timer.Sample sample = metrics.start();
+        try {
+            GetCampaignsByAccountIdResponse resp = svc.getService().getCampaignsByAccountId(req);
+            return resp.getCampaigns().getCampaigns();
+        } finally {
+            metrics.apiCall(sample, IngestionMetrics.BING, "campaigns");
+        }
+    }
+
+    /**
+     * Downloads a daily CampaignPerformance report of the account for a custom date range to a
+     * new temp file, which the caller deletes once read.
+     *
+     * @return the report, or null if the account has no data in the range
+     */
+    public File downloadCampaignPerformanceReport(
+            AuthorizationData auth,
+            LocalDate customStart,
+            LocalDate customEnd
+    ) throws ExecutionException, InterruptedException, IOException {
+        ReportingServiceManager mgr = new ReportingServiceManager(auth, ApiEnvironment.PRODUCTION);
+        CampaignPerformanceReportRequest req = campaignPerformanceReportRequest(auth, customStart, customEnd);
+
+        String tmp = System.getProperty("java.io.tmpdir");
+        Path tmpDir = Files.createDirectories(Path.of(tmp, "bingReports"));
+        // reserve a unique name, so reports of other accounts and of parallel backfill chunks
+        // downloading at the same time never overwrite each other
+        Path target = Files.createTempFile(tmpDir,
+                "campaign_report_" + auth.getAccountId() + "_" + customStart + "_" + customEnd + "_", ".csv");
+
+        ReportingDownloadParameters dl = new ReportingDownloadParameters();
+        dl.setReportRequest(req);
+        dl.setResultFileDirectory(tmpDir.toFile());
+        dl.setResultFileName(target.getFileName().toString());
+        dl.setOverwriteResultFile(true);
+
+        // submit, poll and download
+        Timer.Sample sample = metrics.start();
+        File reportFile;
+        try {
+            reportFile = mgr.downloadFileAsync(dl, null).get();
+        } catch (ExecutionException | InterruptedException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        } finally {
+            metrics.apiCall(sample, IngestionMetrics.BING, "report");
+        }
+        if (reportFile == null) {
+            Files.deleteIfExists(target);
+            log.info("No report data for account {} from {} to {}", auth.getAccountId(), customStart, customEnd);
+            return null;
+        }
+        log.info("Report saved: {}", reportFile.getAbsolutePath());
+        return reportFile;
+    }
+
+    /**
+     * Requests the same report as {@link #downloadCampaignPerformanceReport} and, once Bing has
+     * built it, reads it straight off the download connection: the zip archive is inflated and
+     * decoded as it arrives, so nothing is written to disk or held in memory beyond the buffers.
+     * The request timeout only covers the response headers, so the body is watched separately: a
+     * read that gets no bytes for {@link #DOWNLOAD_IDLE_TIMEOUT} closes the connection and fails.
+     * The caller closes the reader, which closes the connection.
+     *
+     * @return the report CSV, or null if the account has no data in the range
+     */
+    public Reader openCampaignPerformanceReport(
+            AuthorizationData auth,
+            LocalDate customStart,
+            LocalDate customEnd
+    ) throws ExecutionException, InterruptedException, IOException {
+        URI url = reportDownloadUrl(auth, customStart, customEnd);
+        if (url == null) {
+            log.info("No report data for account {} from {} to {}", auth.getAccountId(), customStart, customEnd);
+            return null;
+        }
+
+        HttpResponse<InputStream> response = http.send(
+                HttpRequest.newBuilder(url).timeout(DOWNLOAD_TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        InputStream body = new IdleTimeoutInputStream(response.body());
+        if (response.statusCode() / 100 != 2) {
+            body.close();
+            throw new IOException("Report download failed with HTTP " + response.statusCode());
+        }
+
+        // the archive holds the single CSV file
+        ZipInputStream zip = new ZipInputStream(body);
+        try {
+            if (zip.getNextEntry() == null) {
+                throw new IOException("Report archive is empty");
+            }
+        } catch (IOException e) {
+            zip.close();
+            throw e;
+        }
+        return new InputStreamReader(zip, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Submits the report request and polls until Bing has built it.
+     *
+     * @return where to download the zipped report from, or null if it has no data
+     */
+    protected URI reportDownloadUrl(AuthorizationData auth, LocalDate customStart, LocalDate customEnd)
+            throws ExecutionException, InterruptedException {
+        ReportingServiceManager mgr = new ReportingServiceManager(auth, ApiEnvironment.PRODUCTION);
+        CampaignPerformanceReportRequest req = campaignPerformanceReportRequest(auth, customStart, customEnd);
+
+        // submit and poll
+        Timer.Sample sample = metrics.start();
+        ReportingOperationStatus status;
+        try {
+            ReportingDownloadOperation operation = mgr.submitDownloadAsync(req, null).get();
+            status = operation.trackAsync(null).get();
+        } finally {
+            metrics.apiCall(sample, IngestionMetrics.BING, "report");
+        }
+        if (status.getStatus() != ReportRequestStatusType.SUCCESS) {
+            throw new IllegalStateException("Report request ended with status " + status.getStatus());
+        }
+        return status.getReportDownloadUrl() == null ? null : URI.create(status.getReportDownloadUrl());
+    }
+
+    private static CampaignPerformanceReportRequest campaignPerformanceReportRequest(
+            AuthorizationData auth, LocalDate customStart, LocalDate customEnd) {
+        CampaignPerformanceReportRequest req = new CampaignPerformanceReportRequest();
+        req.setFormat(ReportFormat.CSV);
+        req.setReportName("AllCampaignStats");
+        req.setAggregation(ReportAggregation.DAILY);
+
+        AccountThroughCampaignReportScope scope = new AccountThroughCampaignReportScope();
+        ArrayOflong aIds = new ArrayOflong();
+        aIds.getLongs().add(auth.getAccountId());
+        scope.setAccountIds(aIds);
+        req.setScope(scope);
+
+        ReportTime time = getReportTime(customStart, customEnd);
+        req.setTime(time);
+
+        ArrayOfCampaignPerformanceReportColumn cols = new ArrayOfCampaignPerformanceReportColumn();
+        cols.getCampaignPerformanceReportColumns().addAll(Arrays.asList(
+                CampaignPerformanceReportColumn.TIME_PERIOD,
+                CampaignPerformanceReportColumn.CAMPAIGN_ID,
+                CampaignPerformanceReportColumn.IMPRESSIONS,
+                CampaignPerformanceReportColumn.CLICKS,
+                CampaignPerformanceReportColumn.SPEND,
+                CampaignPerformanceReportColumn.CTR,
+                CampaignPerformanceReportColumn.AVERAGE_CPC,
+                CampaignPerformanceReportColumn.CONVERSIONS,
+                CampaignPerformanceReportColumn.CONVERSION_RATE
+        ));
+        req.setColumns(cols);
+        return req;
+    }
+
+    private static ReportTime getReportTime(LocalDate customStart, LocalDate customEnd) {
+        ReportTime time = new ReportTime();
+        Date start = new Date();
+        start.setDay(customStart.getDayOfMonth());
+        start.setMonth(customStart.getMonthValue());
+        start.setYear(customStart.getYear());
+        Date end = new Date();
+        end.setDay(customEnd.getDayOfMonth());
+        end.setMonth(customEnd.getMonthValue());
+        end.setYear(customEnd.getYear());
+        time.setCustomDateRangeStart(start);
+        time.setCustomDateRangeEnd(end);
+        return time;
+    }
+
+    /**
+     * Closes the download when a read has been waiting for bytes longer than
+     * {@link #DOWNLOAD_IDLE_TIMEOUT}. Only time spent inside a read counts, so a caller that stops
+     * reading while the pipeline is behind is not mistaken for a stalled server.
+     */
+    private final class IdleTimeoutInputStream extends FilterInputStream {
+
+        /**
+         * {@link System#nanoTime} when the pending read started, or 0 between reads.
+         */
+        private volatile long readingSince;
+        private volatile boolean timedOut;
+        private final ScheduledFuture<?> check;
+
+        IdleTimeoutInputStream(InputStream in) {
+            super(in);
+            long period = DOWNLOAD_IDLE_CHECK.toNanos();
+            this.check = downloadWatchdog.scheduleWithFixedDelay(this::closeIfStalled, period, period, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read;
+            readingSince = System.nanoTime();
+            try {
+                read = super.read();
+            } catch (IOException e) {
+                throw timedOut ? stalled(e) : e;
+            } finally {
+                readingSince = 0;
+            }
+            return checked(read);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read;
+            readingSince = System.nanoTime();
+            try {
+                read = super.read(b, off, len);
+            } catch (IOException e) {
+                throw timedOut ? stalled(e) : e;
+            } finally {
+                readingSince = 0;
+            }
+            return checked(read);
+        }
+
+        @Override
+        public void close() throws IOException {
+            check.cancel(false);
+            super.close();
+        }
+
+        private void closeIfStalled() {
+            long since = readingSince;
+            if (since == 0 || System.nanoTime() - since < DOWNLOAD_IDLE_TIMEOUT.toNanos()) {
+                return;
+            }
+            timedOut = true;
+            try {
+                close();                                    // wakes the pending read up
+            } catch (IOException e) {
+                log.warn("Could not close stalled report download", e);
+            }
+        }
+
+        /**
+         * A closed body reads as end of stream: tell it apart from a complete download.
+         */
+        private int checked(int read) throws IOException {
+            if (timedOut) {
+                throw stalled(null);
+            }
+            return read;
+        }
+
+        private IOException stalled(IOException cause) {
+            return new IOException("Report download received nothing for " + DOWNLOAD_IDLE_TIMEOUT, cause);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The sync steps of one ad platform, as driven by {@link BackfillService}.
+ */
+public interface ChannelSyncService {
+
+    /**
+     * Marketing channel this service syncs.
+     */
+    int marketingChannelId();
+
+    /**
+     * Ad accounts whose metrics this service syncs, each tracked by its own watermark.
+     */
+    List<Long> accountIds();
+
+    /**
+     * First day with metrics in any of the accounts, where a full-history load starts.
+     */
+    LocalDate firstStatDate();
+
+    /**
+     * Fetches the campaign list and persists new campaigns.
+     */
+    void syncCampaigns(int marketingChannelId) throws Exception;
+
+    /**
+     * Syncs the metrics of [startDate, endDate] and refreshes the rollups; does not move the watermark.
+     */
+    void syncMetricsForDate(int marketingChannelId, LocalDate startDate, LocalDate endDate) throws Exception;
+}
@@ -0,0 +1,140 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.premiergroup.ad_metrics_hub.aggregation.DateWindow;
+import com.premiergroup.ad_metrics_hub.dto.DashboardCacheStats;
+import com.premiergroup.ad_metrics_hub.enums.DateFilter;
+import com.premiergroup.ad_metrics_hub.enums.MetricFilter;
+import com.premiergroup.ad_metrics_hub.event.MetricsSyncedEvent;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of computed dashboard responses.
+ * <p>
+ * Stored data only changes when a sync runs, so entries are dropped as soon as a sync for
+ * an overlapping channel and date range commits; the TTL is only a safety net. A response still
+ * being computed when a sync commits may have read the data from before it, and is not kept.
+ */
+@Component
+@Log4j2
+public class DashboardCache {
+
+    public enum View {
+        WIDGET,
+        GRAPH,
+        TABLE,
+        DASHBOARD
+    }
+
+    /**
+     * Identifies one computed response; {@code start}/{@code end} are the resolved window.
+     * {@code metric}, {@code top} and {@code zeroFill} only apply to the graph (alone or in the
+     * combined dashboard) and are null/false otherwise.
+     */
+    public record Key(
+            View view,
+            Integer marketingChannelId,
+            DateFilter dateFilter,
+            LocalDate start,
+            LocalDate end,
+            MetricFilter metric,
+            Integer top,
+            boolean zeroFill
+    ) {
+
+        /**
+         * Whether this response read any data in [from, to], including its comparison periods.
+         */
+        boolean overlaps(Integer channelId, LocalDate from, LocalDate to) {
+            if (!marketingChannelId.equals(channelId)) {
+                return false;
+            }
+            DateWindow window = new DateWindow(start, end, false);
+            LocalDate preceding = window.precedingPeriod().start();
+            LocalDate previousYear = window.previousYear().start();
+            LocalDate earliest = preceding.isBefore(previousYear) ? preceding : previousYear;
+            return !from.isAfter(end) && !to.isBefore(earliest);
+        }
+    }
+
+    private final Cache<Key, Object> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Bumped by every invalidation before it looks for stale entries.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public DashboardCache(
+            @Value("${ads.cache.max-size}") long maxSize,
+            @Value("${ads.cache.ttl-minutes}") long ttlMinutes
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The cached response, or the one {@code loader} computes. A computed response is dropped again
+     * if an invalidation ran meanwhile: the entry was not visible to it yet, but may hold data the
+     * sync has replaced.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        long before = generation.get();
+        boolean[] loaded = {false};
+        T value = (T) cache.get(key, k -> {
+            loaded[0] = true;
+            return loader.get();
+        });
+        if (loaded[0] && value != null && generation.get() != before) {
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Drops every cached response of the channel that depends on data in [from, to].
+     */
+    public void invalidate(Integer marketingChannelId, LocalDate from, LocalDate to) {
+        // before the scan: a response stored after it sees the new generation and drops itself
+        generation.incrementAndGet();
+        List<Key> stale = cache.asMap().keySet().stream()
+                .filter(key -> key.overlaps(marketingChannelId, from, to))
+                .toList();
+        cache.invalidateAll(stale);
+        invalidations.addAndGet(stale.size());
+        log.info("Invalidated {} dashboard cache entries for channel {} ({} to {})",
+                stale.size(), marketingChannelId, from, to);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMetricsSynced(MetricsSyncedEvent event) {
+        invalidate(event.marketingChannelId(), event.from(), event.to());
+    }
+
+    public DashboardCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new DashboardCacheStats(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.get()
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool the dashboard endpoints compute their responses on, so that slow aggregations
+ * queue here instead of holding servlet threads.
+ * <p>
+ * At most {@code ads.dashboard.threads} responses are computed at once and
+ * {@code ads.dashboard.queue-capacity} more wait; beyond that requests are rejected rather than
+ * piling up behind the connection pool. Deliberately not exposed as an {@code Executor} bean,
+ * which would replace Spring's own task executor.
+ */
+@Component
+public class DashboardExecutor {
+
+    private final ThreadPoolExecutor pool;
+
+    public DashboardExecutor(@Value("${ads.dashboard.threads}") int threads,
+                             @Value("${ads.dashboard.queue-capacity}") int queueCapacity) {
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("dashboard-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Computes {@code task} on the pool.
+     *
+     * @throws RejectedExecutionException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, pool);
+    }
+}
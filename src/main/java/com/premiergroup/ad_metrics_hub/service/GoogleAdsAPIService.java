@@ -1,21 +1,27 @@
 package com.premiergroup.ad_metrics_hub.service;
 
-import com.google.ads.googleads.lib.GoogleAdsClient;
 import com.google.ads.googleads.v20.errors.GoogleAdsException;
 import com.google.ads.googleads.v20.services.GoogleAdsRow;
 import com.google.ads.googleads.v20.services.GoogleAdsServiceClient;
 import com.google.ads.googleads.v20.services.SearchGoogleAdsStreamRequest;
 import com.google.ads.googleads.v20.services.SearchGoogleAdsStreamResponse;
+import com.premiergroup.ad_metrics_hub.aggregation.Micros;
 import com.premiergroup.ad_metrics_hub.entity.Campaign;
-import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
 import com.premiergroup.ad_metrics_hub.entity.MarketingChannel;
-import com.premiergroup.ad_metrics_hub.repository.CampaignMetricRepository;
+import com.premiergroup.ad_metrics_hub.event.MetricsSyncedEvent;
+import com.premiergroup.ad_metrics_hub.ingestion.IngestionMetrics;
+import com.premiergroup.ad_metrics_hub.ingestion.MetricBatchWriter;
+import com.premiergroup.ad_metrics_hub.ingestion.MetricRecord;
+import com.premiergroup.ad_metrics_hub.ingestion.IngestionPipeline;
+import com.premiergroup.ad_metrics_hub.ingestion.MetricSource;
 import com.premiergroup.ad_metrics_hub.repository.CampaignRepository;
 import com.premiergroup.ad_metrics_hub.repository.MarketingChannelRepository;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -23,23 +29,55 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Syncs Google Ads campaigns and metrics. With {@code ads.ingestion.google.discover-accounts},
+ * every enabled client account under the manager account is synced, all of them concurrently
+ * into the same writer, each with its own watermark; otherwise only {@code google.ads.customer-id}.
+ */
 @Service
 @Log4j2
 @RequiredArgsConstructor
-public class GoogleAdsAPIService {
+public class GoogleAdsAPIService implements ChannelSyncService {
 
-    private final GoogleAdsClient googleAdsClient;
+    private final GoogleAdsServiceClient googleAdsService;
     private final CampaignRepository campaignRepository;
-    private final CampaignMetricRepository metricRepository;
+    private final MetricBatchWriter metricBatchWriter;
+    private final IngestionPipeline ingestionPipeline;
     private final MarketingChannelRepository channelRepository;
+    private final RollupService rollupService;
+    private final SyncWatermarkService syncWatermarkService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngestionMetrics metrics;
     private final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     @Value("${google.ads.customer-id}")
     private long customerId;
 
+    @Value("${google.ads.mcc-customer-id}")
+    private long managerCustomerId;
+
+    @Value("${ads.ingestion.google.discover-accounts}")
+    private boolean discoverAccounts;
+
+    @Value("${ads.ingestion.google.account-concurrency}")
+    private int accountConcurrency;
+
+    @Value("${ads.ingestion.google.mode}")
+    private FetchMode fetchMode;
+
     /**
      * Scheduled task to sync Google Ads campaigns and metrics daily each hour at 58 minutes past the hour.
      * Runs every hour at the top of the hour.
@@ -57,150 +95,383 @@ public class GoogleAdsAPIService {
                 );
 
         // ensure campaigns are up to date
-        List<Campaign> campaigns = listAndSaveCampaigns(customerId, channel);
+        List<Long> accounts = accountIds();
+        if (accounts.isEmpty()) {
+            log.warn("No enabled Google Ads accounts to sync");
+            return;
+        }
+        Set<Long> failed = new HashSet<>();
+        List<Campaign> campaigns = listAndSaveCampaigns(accounts, channel, failed);
+
+        // Sync each account since its own watermark, or the last day for a never-synced account;
+        // accounts whose campaigns could not be listed are left for the next run
+        LocalDate end = LocalDate.now();
+        Map<Long, LocalDate> starts = new LinkedHashMap<>();
+        for (long account : accounts) {
+            if (!failed.contains(account)) {
+                starts.put(account, syncWatermarkService.resumeFrom(marketingChannelId, account)
+                        .orElseGet(() -> end.minusDays(1)));
+            }
+        }
+        if (starts.isEmpty()) {
+            log.error("Campaigns of none of the {} Google Ads accounts could be listed", accounts.size());
+            return;
+        }
+        failed.addAll(syncMetrics(marketingChannelId, campaigns, starts, end));
+
+        // Only accounts whose fetches all succeeded move forward; the others retry the same days next time
+        LocalDate start = Collections.min(starts.values());
+        rollupService.refresh(marketingChannelId, start, end);
+        for (long account : accounts) {
+            if (!failed.contains(account)) {
+                syncWatermarkService.advance(marketingChannelId, account, end);
+            }
+        }
+        eventPublisher.publishEvent(new MetricsSyncedEvent(marketingChannelId, start, end));
+        log.info("Completed scheduled Google Ads sync of {} accounts ({} failed)", accounts.size(), failed.size());
+    }
+
+    @Override
+    public int marketingChannelId() {
+        return 1;                                           //Google Ads channel ID
+    }
+
+    /**
+     * The enabled, non-manager client accounts anywhere under the manager account, from one
+     * {@code customer_client} query; or just {@code google.ads.customer-id} without discovery.
+     */
+    @Override
+    public List<Long> accountIds() {
+        if (!discoverAccounts) {
+            return List.of(customerId);
+        }
+        String query = "SELECT customer_client.id FROM customer_client "
+                + "WHERE customer_client.status = 'ENABLED' AND customer_client.manager = FALSE "
+                + "ORDER BY customer_client.id";
+
+        List<Long> accounts = new ArrayList<>();
+        Timer.Sample sample = metrics.start();
+        try {
+            SearchGoogleAdsStreamRequest req = SearchGoogleAdsStreamRequest.newBuilder()
+                    .setCustomerId(Long.toString(managerCustomerId))
+                    .setQuery(query)
+                    .build();
+
+            for (SearchGoogleAdsStreamResponse resp : googleAdsService.searchStreamCallable().call(req)) {
+                for (GoogleAdsRow row : resp.getResultsList()) {
+                    accounts.add(row.getCustomerClient().getId());
+                }
+            }
+        } finally {
+            metrics.apiCall(sample, IngestionMetrics.GOOGLE, "accounts");
+        }
+        log.info("Found {} enabled client accounts under manager account {}", accounts.size(), managerCustomerId);
+        return accounts;
+    }
 
-        // Sync metrics for the last day
-        campaigns.forEach(c ->
-                saveMetrics(customerId, c, LocalDate.now().minusDays(1), LocalDate.now())
-        );
-        log.info("Completed scheduled Google Ads sync");
+    /**
+     * The earliest first stat date of all accounts, queried concurrently.
+     */
+    @Override
+    public LocalDate firstStatDate() {
+        List<CompletableFuture<LocalDate>> dates = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long account : accountIds()) {
+                dates.add(CompletableFuture.supplyAsync(() -> getFirstStatDate(account), executor));
+            }
+        }
+        return dates.stream()
+                .map(CompletableFuture::join)
+                .min(LocalDate::compareTo)
+                .orElseGet(LocalDate::now);
     }
 
+    @Override
     @Transactional
-    public void syncCampaignsAndMetrics(long customerId, Integer marketingChannelId) {
+    public void syncCampaigns(int marketingChannelId) {
         MarketingChannel channel = channelRepository.findById(marketingChannelId)
                 .orElseThrow(() -> new IllegalStateException(
                         "MarketingChannel not found: " + marketingChannelId));
 
-        List<Campaign> saved = listAndSaveCampaigns(customerId, channel);
-        LocalDate start = getFirstStatDate(googleAdsClient, customerId);
-//        LocalDate end = LocalDate.now().minusDays(1); // yesterday
-        LocalDate end = LocalDate.now();
+        Set<Long> failed = new HashSet<>();
+        listAndSaveCampaigns(accountIds(), channel, failed);
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Google Ads campaigns of accounts " + failed + " could not be listed");
+        }
+    }
 
-        //Additionally, call dailyGoogleAdsStats scheduled task for daily updates
-        saved.forEach(campaign -> saveMetrics(customerId, campaign, start, end));
+    /**
+     * Syncs the metrics of the channel's known campaigns, in every account they belong to, for a
+     * date range and refreshes its rollups. Fails, rolling back, if any account could not be fetched.
+     */
+    @Override
+    @Transactional
+    public void syncMetricsForDate(int marketingChannelId, LocalDate startDate, LocalDate endDate) {
+        List<Campaign> campaigns = campaignRepository.findByMarketingChannel_Id(marketingChannelId);
+        Map<Long, LocalDate> starts = new LinkedHashMap<>();
+        for (Campaign c : campaigns) {
+            starts.putIfAbsent(c.getAccountId(), startDate);
+        }
+        Set<Long> failed = syncMetrics(marketingChannelId, campaigns, starts, endDate);
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Google Ads metrics of accounts " + failed + " could not be fetched");
+        }
+        rollupService.refresh(marketingChannelId, startDate, endDate);
+        eventPublisher.publishEvent(new MetricsSyncedEvent(marketingChannelId, startDate, endDate));
     }
 
     /**
-     * Lists campaigns and persists/updates each.
+     * Runs the metrics through the {@link IngestionPipeline}, each account from its own start date
+     * through {@code end}. Windows of all accounts are fetched together, so the
+     * sync takes about as long as its largest account, with at most
+     * {@code ads.ingestion.google.account-concurrency} queries per account in flight.
+     * In {@link FetchMode#ACCOUNT} mode there is one query per date window for a whole account;
+     * in {@link FetchMode#CAMPAIGN} mode one per campaign and window. Ranges longer than a year
+     * are split into yearly windows.
+     *
+     * @return the accounts with a failed fetch, whose metrics are incomplete
      */
-    private List<Campaign> listAndSaveCampaigns(long customerId, MarketingChannel marketingChannel) {
-        String query =
-                "SELECT campaign.id, campaign.name, campaign.status " +
-                        "FROM campaign ORDER BY campaign.id";
+    private Set<Long> syncMetrics(int marketingChannelId, List<Campaign> campaigns,
+                                  Map<Long, LocalDate> starts, LocalDate end) {
+        Map<Long, Map<Long, Integer>> campaignIds = new HashMap<>();
+        for (Campaign c : campaigns) {
+            campaignIds.computeIfAbsent(c.getAccountId(), account -> new HashMap<>())
+                    .put(Long.parseLong(c.getCampaignId()), c.getId());
+        }
 
-        List<Campaign> persisted = new ArrayList<>();
-        try (GoogleAdsServiceClient service = googleAdsClient.getLatestVersion()
-                .createGoogleAdsServiceClient()) {
+        List<MetricWindow> windows = new ArrayList<>();
+        starts.forEach((account, start) -> {
+            for (LocalDate from = start; !from.isAfter(end); from = from.plusYears(1)) {
+                LocalDate yearEnd = from.plusYears(1).minusDays(1);
+                LocalDate to = yearEnd.isAfter(end) ? end : yearEnd;
+                if (fetchMode == FetchMode.ACCOUNT) {
+                    windows.add(new MetricWindow(marketingChannelId, account, null, from, to));
+                } else {
+                    for (Campaign c : campaigns) {
+                        if (c.getAccountId() == account) {
+                            windows.add(new MetricWindow(marketingChannelId, account, c.getCampaignId(), from, to));
+                        }
+                    }
+                }
+            }
+        });
+
+        MetricsSource source = new MetricsSource(campaignIds);
+        Timer.Sample sample = metrics.start();
+        try (MetricBatchWriter.Batch batch = metricBatchWriter.open()) {
+            for (MetricWindow window : ingestionPipeline.run(windows, MetricWindow::customerId, accountConcurrency,
+                    source, batch)) {
+                source.failed.add(window.customerId());
+            }
+        } finally {
+            metrics.sync(sample, IngestionMetrics.GOOGLE);
+            metrics.rowsFetched(IngestionMetrics.GOOGLE, source.rows.values().stream().mapToLong(LongAdder::sum).sum());
+            metrics.unknownCampaignRows(IngestionMetrics.GOOGLE, source.skipped.sum());
+        }
+        for (long account : starts.keySet()) {
+            LongAdder fetched = source.rows.get(account);
+            log.info("Google Ads account {}: {} metric rows from {} to {}{}", account,
+                    fetched == null ? 0 : fetched.sum(), starts.get(account), end,
+                    source.failed.contains(account) ? ", incomplete" : "");
+        }
+        return source.failed;
+    }
 
-            SearchGoogleAdsStreamRequest req = SearchGoogleAdsStreamRequest.newBuilder()
-                    .setCustomerId(Long.toString(customerId))
-                    .setQuery(query)
-                    .build();
+    public enum FetchMode {
+        /** One GAQL query per date window covering every campaign of the account. */
+        ACCOUNT,
+        /** One GAQL query per campaign and date window. */
+        CAMPAIGN
+    }
 
-            for (SearchGoogleAdsStreamResponse resp : service.searchStreamCallable().call(req)) {
-                for (GoogleAdsRow row : resp.getResultsList()) {
-                    String campaignId = String.valueOf(row.getCampaign().getId());
-                    Optional<Campaign> opt = campaignRepository
-                            .findByMarketingChannel_IdAndCampaignId(marketingChannel.getId(), campaignId);
-                    Campaign camp = opt.orElseGet(() -> Campaign.builder()
+    /**
+     * A date range of one account to fetch, for one campaign or, when {@code campaignId} is null,
+     * the whole account.
+     */
+    private record MetricWindow(int marketingChannelId, long customerId, String campaignId,
+                                LocalDate start, LocalDate end) {
+    }
+
+    /**
+     * Lists the campaigns of every account concurrently, then persists/updates each from the
+     * calling thread, inside its transaction, looking each account's known campaigns up at once.
+     * Accounts whose campaigns could not be listed are added to {@code failed} and left untouched.
+     */
+    private List<Campaign> listAndSaveCampaigns(List<Long> accounts, MarketingChannel marketingChannel,
+                                                Set<Long> failed) {
+        Map<Long, CompletableFuture<List<GoogleAdsRow>>> listed = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long account : accounts) {
+                listed.put(account, CompletableFuture.supplyAsync(() -> listCampaigns(account), executor));
+            }
+        }
+
+        List<Campaign> persisted = new ArrayList<>();
+        listed.forEach((account, rows) -> {
+            if (rows.join() == null) {
+                failed.add(account);
+                return;
+            }
+            Map<String, Campaign> existing = new HashMap<>();
+            for (Campaign c : campaignRepository.findByMarketingChannel_IdAndAccountId(marketingChannel.getId(), account)) {
+                existing.put(c.getCampaignId(), c);
+            }
+            for (GoogleAdsRow row : rows.join()) {
+                String campaignId = String.valueOf(row.getCampaign().getId());
+                Campaign camp = existing.get(campaignId);
+                if (camp == null) {
+                    camp = Campaign.builder()
                             .marketingChannel(marketingChannel)
+                            .accountId(account)
                             .campaignId(campaignId)
                             .name(row.getCampaign().getName())
                             .status(row.getCampaign().getStatus().name())
-                            .build());
-
-                    persisted.add(campaignRepository.save(camp));
+                            .build();
                 }
+
+                persisted.add(campaignRepository.save(camp));
             }
-        } catch (GoogleAdsException e) {
-            log.error("Error listing campaigns: {}", e.getMessage());
-        }
+        });
         return persisted;
     }
 
     /**
-     * Fetches and saves metrics for a specific campaign
+     * The campaign rows of one account, or null if the account could not be read.
      */
-    private void saveMetrics(long customerId, Campaign campaign,
-                             LocalDate startDate, LocalDate endDate) {
-
-        String start = startDate.format(fmt);
-        String end = endDate.format(fmt);
-
-        String query = String.join(" ", List.of(
-                "SELECT segments.date, metrics.clicks, metrics.impressions, metrics.cost_micros,",
-                "metrics.ctr, metrics.average_cpc, metrics.conversions,",
-                "metrics.cost_per_conversion, metrics.all_conversions,",
-                "metrics.all_conversions_value, metrics.value_per_conversion",
-                "FROM campaign",
-                "WHERE campaign.id =", String.valueOf(campaign.getCampaignId()),
-                "AND segments.date BETWEEN '" + start + "' AND '" + end + "'",
-                "ORDER BY segments.date"
-        ));
-
-        try (GoogleAdsServiceClient service = googleAdsClient.getLatestVersion()
-                .createGoogleAdsServiceClient()) {
+    private List<GoogleAdsRow> listCampaigns(long customerId) {
+        String query =
+                "SELECT campaign.id, campaign.name, campaign.status " +
+                        "FROM campaign ORDER BY campaign.id";
 
+        List<GoogleAdsRow> rows = new ArrayList<>();
+        Timer.Sample sample = metrics.start();
+        try {
             SearchGoogleAdsStreamRequest req = SearchGoogleAdsStreamRequest.newBuilder()
                     .setCustomerId(Long.toString(customerId))
                     .setQuery(query)
                     .build();
 
-            for (SearchGoogleAdsStreamResponse resp : service.searchStreamCallable().call(req)) {
-                for (GoogleAdsRow row : resp.getResultsList()) {
-                    LocalDate date = LocalDate.parse(row.getSegments().getDate());
-                    BigDecimal cost = BigDecimal.valueOf(
-                            row.getMetrics().getCostMicros() / 1_000_000.0
-                    );
-
-                    // 1. Check if a metric for this date already exists
-                    Optional<CampaignMetric> existingOpt =
-                            metricRepository.findByCampaign_IdAndStatsDate(campaign.getId(), date);
-
-                    // 2. If it exists, use it; otherwise create a new one
-                    CampaignMetric metric = existingOpt.orElseGet(() -> CampaignMetric.builder()
-                            .campaign(campaign)
-                            .statsDate(date)
-                            .build());
-
-                    // 3. Populate fields (both for new and existing)
-                    metric.setClicks(Math.toIntExact(row.getMetrics().getClicks()));
-                    metric.setImpressions(Math.toIntExact(row.getMetrics().getImpressions()));
-                    metric.setCost(cost);
-                    metric.setCtr(BigDecimal.valueOf(row.getMetrics().getCtr()));
-                    metric.setAvgCpc(BigDecimal.valueOf(
-                            row.getMetrics().getAverageCpc() / 1_000_000.0
-                    ));
-                    metric.setConversions((int) row.getMetrics().getConversions());
-                    metric.setConversionRate(BigDecimal.valueOf(
+            for (SearchGoogleAdsStreamResponse resp : googleAdsService.searchStreamCallable().call(req)) {
+                rows.addAll(resp.getResultsList());
+            }
+        } catch (GoogleAdsException e) {
+            log.error("Error listing campaigns of account {}: {}", customerId, e.getMessage());
+            return null;
+        } finally {
+            metrics.apiCall(sample, IngestionMetrics.GOOGLE, "campaigns");
+        }
+        return rows;
+    }
+
+    /**
+     * A row of a date window's query.
+     */
+    private record WindowRow(MetricWindow window, GoogleAdsRow row) {
+    }
+
+    /**
+     * The metrics of date windows: each window's GAQL stream is fetched as is, and the rows are
+     * routed to their campaign through {@code campaignIds}, by account and platform campaign ID,
+     * in the transform stage; rows of campaigns we don't know are skipped. Routed rows are counted
+     * per account in {@code rows}, and an account is added to {@code failed} if any of its fetches
+     * fails.
+     */
+    private final class MetricsSource implements MetricSource<MetricWindow, WindowRow> {
+
+        private final Map<Long, Map<Long, Integer>> campaignIds;
+        private final Set<Long> unknown = ConcurrentHashMap.newKeySet();
+        private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+        private final Map<Long, LongAdder> rows = new ConcurrentHashMap<>();
+        private final LongAdder skipped = new LongAdder();
+
+        MetricsSource(Map<Long, Map<Long, Integer>> campaignIds) {
+            this.campaignIds = campaignIds;
+        }
+
+        @Override
+        public String channel() {
+            return IngestionMetrics.GOOGLE;
+        }
+
+        @Override
+        public void fetch(MetricWindow window, Emitter<WindowRow> emitter) throws InterruptedException {
+            String start = window.start().format(fmt);
+            String end = window.end().format(fmt);
+
+            String query = String.join(" ", List.of(
+                    "SELECT campaign.id, segments.date, metrics.clicks, metrics.impressions, metrics.cost_micros,",
+                    "metrics.ctr, metrics.average_cpc, metrics.conversions,",
+                    "metrics.cost_per_conversion, metrics.all_conversions,",
+                    "metrics.all_conversions_value, metrics.value_per_conversion",
+                    "FROM campaign",
+                    "WHERE segments.date BETWEEN '" + start + "' AND '" + end + "'",
+                    window.campaignId() != null ? "AND campaign.id = " + window.campaignId() : ""
+            ));
+
+            Timer.Sample sample = metrics.start();
+            try {
+                SearchGoogleAdsStreamRequest req = SearchGoogleAdsStreamRequest.newBuilder()
+                        .setCustomerId(Long.toString(window.customerId()))
+                        .setQuery(query)
+                        .build();
+
+                for (SearchGoogleAdsStreamResponse resp : googleAdsService.searchStreamCallable().call(req)) {
+                    for (GoogleAdsRow row : resp.getResultsList()) {
+                        emitter.emit(new WindowRow(window, row));
+                    }
+                }
+            } catch (GoogleAdsException e) {
+                failed.add(window.customerId());
+                log.error("Error fetching metrics of account {}: {}", window.customerId(), e.getMessage());
+            } finally {
+                // includes the time the stream waited on a full pipeline queue
+                metrics.apiCall(sample, IngestionMetrics.GOOGLE, "metrics");
+            }
+        }
+
+        @Override
+        public MetricRecord transform(WindowRow item) {
+            GoogleAdsRow row = item.row();
+            Integer campaignId = campaignIds.getOrDefault(item.window().customerId(), Map.of())
+                    .get(row.getCampaign().getId());
+            if (campaignId == null) {
+                if (unknown.add(row.getCampaign().getId())) {
+                    log.warn("Skipping metrics of unknown campaign: {}", row.getCampaign().getId());
+                }
+                skipped.increment();
+                return null;
+            }
+            rows.computeIfAbsent(item.window().customerId(), account -> new LongAdder()).increment();
+
+            LocalDate date = LocalDate.parse(row.getSegments().getDate());
+            // cost stays in exact micros; average_cpc and cost_per_conversion are micros too,
+            // but doubles, so they are only rounded to whole micros
+            long costMicros = row.getMetrics().getCostMicros();
+            BigDecimal conversionsValue = BigDecimal.valueOf(row.getMetrics().getAllConversionsValue());
+
+            return new MetricRecord(
+                    campaignId,
+                    item.window().marketingChannelId(),
+                    item.window().customerId(),
+                    date,
+                    Math.toIntExact(row.getMetrics().getClicks()),
+                    Math.toIntExact(row.getMetrics().getImpressions()),
+                    Micros.toDecimal(costMicros),
+                    BigDecimal.valueOf(row.getMetrics().getCtr()),
+                    Micros.toDecimal(Math.round(row.getMetrics().getAverageCpc())),
+                    (int) row.getMetrics().getConversions(),
+                    BigDecimal.valueOf(
                             row.getMetrics().getClicks() > 0
                                     ? (row.getMetrics().getConversions() * 100.0 / row.getMetrics().getClicks())
                                     : 0.0
-                    ));
-                    metric.setCostPerConversion(BigDecimal.valueOf(
-                            row.getMetrics().getCostPerConversion() / 1_000_000.0
-                    ));
-                    metric.setConversionValue(BigDecimal.valueOf(
-                            row.getMetrics().getAllConversionsValue()
-                    ));
-                    metric.setValuePerConversion(BigDecimal.valueOf(
-                            row.getMetrics().getValuePerConversion()
-                    ));
-                    metric.setRoas(cost.compareTo(BigDecimal.ZERO) > 0
-                                    ? BigDecimal.valueOf(
-                                    row.getMetrics().getAllConversionsValue() /
-                                            (row.getMetrics().getCostMicros() / 1_000_000.0)
-                            )
-                                    : BigDecimal.ZERO
-                    );
-
-                    // 4. Save this metric (update or insert)
-                    metricRepository.save(metric);
-                }
-            }
-        } catch (GoogleAdsException e) {
-            log.error("Error fetching metrics: {}", e.getMessage());
+                    ),
+                    Micros.toDecimal(Math.round(row.getMetrics().getCostPerConversion())),
+                    conversionsValue,
+                    BigDecimal.valueOf(row.getMetrics().getValuePerConversion()),
+                    costMicros > 0
+                            ? Micros.toDecimal(Micros.ratio(Micros.of(conversionsValue), costMicros, Micros.SCALE))
+                            : BigDecimal.ZERO
+            );
         }
     }
 
@@ -208,7 +479,7 @@ public class GoogleAdsAPIService {
      * Runs a streaming GAQL query sorted by date ascending and returns the first date we
      * see. If no data is found, defaults to today.
      */
-    private LocalDate getFirstStatDate(GoogleAdsClient client, long customerId) {
+    private LocalDate getFirstStatDate(long customerId) {
         LocalDate today = LocalDate.now();
 
         String startSentinel = "2000-01-01";              // far before any real data
@@ -223,9 +494,7 @@ public class GoogleAdsAPIService {
                 + "ORDER BY segments.date ASC "
                 + "LIMIT 1";
 
-        try (GoogleAdsServiceClient service =
-                     client.getLatestVersion().createGoogleAdsServiceClient()) {
-
+        try {
             SearchGoogleAdsStreamRequest req =
                     SearchGoogleAdsStreamRequest.newBuilder()
                             .setCustomerId(Long.toString(customerId))
@@ -233,7 +502,7 @@ public class GoogleAdsAPIService {
                             .build();
 
             for (SearchGoogleAdsStreamResponse resp :
-                    service.searchStreamCallable().call(req)) {
+                    googleAdsService.searchStreamCallable().call(req)) {
                 for (GoogleAdsRow row : resp.getResultsList()) {
                     return LocalDate.parse(row.getSegments().getDate());
                 }
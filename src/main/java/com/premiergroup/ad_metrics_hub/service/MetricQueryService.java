@@ -0,0 +1,142 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.premiergroup.ad_metrics_hub.repository.CampaignMetricRepository;
+import com.premiergroup.ad_metrics_hub.repository.CampaignMonthlyMetricRepository;
+import com.premiergroup.ad_metrics_hub.repository.ChannelDailyMetricRepository;
+import com.premiergroup.ad_metrics_hub.repository.ChannelMonthlyMetricRepository;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignDailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyComparisonTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.CampaignMonthlyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.DailyMetricTotals;
+import com.premiergroup.ad_metrics_hub.repository.projection.MonthlyMetricTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Aggregate reads for the dashboards, served from the coarsest rollup table that can answer
+ * the requested window exactly, and from {@code campaign_metrics} otherwise.
+ */
+@Service
+@RequiredArgsConstructor
+public class MetricQueryService {
+
+    private final CampaignMetricRepository campaignMetricRepository;
+    private final ChannelDailyMetricRepository channelDailyMetricRepository;
+    private final ChannelMonthlyMetricRepository channelMonthlyMetricRepository;
+    private final CampaignMonthlyMetricRepository campaignMonthlyMetricRepository;
+
+    @Value("${ads.rollups.enabled}")
+    private boolean rollupsEnabled;
+
+    /**
+     * Daily rows of [start, end] together with those of the comparison window [prevStart, prevEnd].
+     */
+    public List<DailyMetricTotals> sumByDay(
+            Integer marketingChannelId,
+            LocalDate start, LocalDate end,
+            LocalDate prevStart, LocalDate prevEnd
+    ) {
+        return rollupsEnabled
+                ? channelDailyMetricRepository.sumByDay(marketingChannelId, start, end, prevStart, prevEnd)
+                : campaignMetricRepository.sumByDay(marketingChannelId, start, end, prevStart, prevEnd);
+    }
+
+    /**
+     * Monthly rows of [start, end] together with those of the comparison window [prevStart, prevEnd].
+     */
+    public List<MonthlyMetricTotals> sumByMonth(
+            Integer marketingChannelId,
+            LocalDate start, LocalDate end,
+            LocalDate prevStart, LocalDate prevEnd
+    ) {
+        if (!rollupsEnabled) {
+            return campaignMetricRepository.sumByMonth(marketingChannelId, start, end, prevStart, prevEnd);
+        }
+        return coversWholeMonths(start, end) && coversWholeMonths(prevStart, prevEnd)
+                ? channelMonthlyMetricRepository.sumByMonth(marketingChannelId, start, end, prevStart, prevEnd)
+                : channelDailyMetricRepository.sumByMonth(marketingChannelId, start, end, prevStart, prevEnd);
+    }
+
+    /**
+     * Per-campaign totals of [start, end] and of the earlier window [prevStart, prevEnd].
+     */
+    public List<CampaignComparisonTotals> compareByCampaign(
+            Integer marketingChannelId,
+            LocalDate start, LocalDate end,
+            LocalDate prevStart, LocalDate prevEnd
+    ) {
+        return rollupsEnabled && coversWholeMonths(start, end) && coversWholeMonths(prevStart, prevEnd)
+                ? campaignMonthlyMetricRepository.compareByCampaign(marketingChannelId, start, end, prevStart, prevEnd)
+                : campaignMetricRepository.compareByCampaign(marketingChannelId, start, end, prevStart, prevEnd);
+    }
+
+    /**
+     * One page of {@link #compareByCampaign}, campaigns without current data left out, streamed
+     * from the database; must be consumed inside a transaction.
+     */
+    public Stream<CampaignComparisonTotals> streamByCampaign(
+            Integer marketingChannelId,
+            LocalDate start, LocalDate end,
+            LocalDate prevStart, LocalDate prevEnd,
+            Pageable pageable
+    ) {
+        return rollupsEnabled && coversWholeMonths(start, end) && coversWholeMonths(prevStart, prevEnd)
+                ? campaignMonthlyMetricRepository.streamByCampaign(marketingChannelId, start, end, prevStart, prevEnd, pageable)
+                : campaignMetricRepository.streamByCampaign(marketingChannelId, start, end, prevStart, prevEnd, pageable);
+    }
+
+    public List<CampaignMonthlyMetricTotals> sumByCampaignAndMonth(
+            Integer marketingChannelId,
+            LocalDate start,
+            LocalDate end
+    ) {
+        return rollupsEnabled && coversWholeMonths(start, end)
+                ? campaignMonthlyMetricRepository.sumByCampaignAndMonth(marketingChannelId, start, end)
+                : campaignMetricRepository.sumByCampaignAndMonth(marketingChannelId, start, end);
+    }
+
+    /**
+     * Per-campaign, per-month totals of [start, end], of [prevStart, prevEnd] and of
+     * [prevYearStart, prevYearEnd], from one grouped statement.
+     */
+    public List<CampaignMonthlyComparisonTotals> compareByCampaignAndMonth(
+            Integer marketingChannelId,
+            LocalDate start, LocalDate end,
+            LocalDate prevStart, LocalDate prevEnd,
+            LocalDate prevYearStart, LocalDate prevYearEnd
+    ) {
+        return rollupsEnabled && coversWholeMonths(start, end) && coversWholeMonths(prevStart, prevEnd)
+                && coversWholeMonths(prevYearStart, prevYearEnd)
+                ? campaignMonthlyMetricRepository.compareByCampaignAndMonth(marketingChannelId,
+                        start, end, prevStart, prevEnd, prevYearStart, prevYearEnd)
+                : campaignMetricRepository.compareByCampaignAndMonth(marketingChannelId,
+                        start, end, prevStart, prevEnd, prevYearStart, prevYearEnd);
+    }
+
+    /**
+     * There is no campaign-day rollup; this always reads {@code campaign_metrics}.
+     */
+    public List<CampaignDailyMetricTotals> sumByCampaignAndDay(
+            Integer marketingChannelId,
+            LocalDate start,
+            LocalDate end
+    ) {
+        return campaignMetricRepository.sumByCampaignAndDay(marketingChannelId, start, end);
+    }
+
+    /**
+     * Monthly rollups can only answer windows that start and end on month boundaries.
+     */
+    private static boolean coversWholeMonths(LocalDate start, LocalDate end) {
+        return start.getDayOfMonth() == 1
+                && end.equals(end.with(TemporalAdjusters.lastDayOfMonth()));
+    }
+}
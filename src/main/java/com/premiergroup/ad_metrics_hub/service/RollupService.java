@@ -0,0 +1,49 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.premiergroup.ad_metrics_hub.repository.CampaignMonthlyMetricRepository;
+import com.premiergroup.ad_metrics_hub.repository.ChannelDailyMetricRepository;
+import com.premiergroup.ad_metrics_hub.repository.ChannelMonthlyMetricRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Keeps the channel-day, channel-month and campaign-month rollup tables in step with
+ * {@code campaign_metrics}. Only the days and months touched by a sync are recomputed.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class RollupService {
+
+    private final ChannelDailyMetricRepository channelDailyMetricRepository;
+    private final ChannelMonthlyMetricRepository channelMonthlyMetricRepository;
+    private final CampaignMonthlyMetricRepository campaignMonthlyMetricRepository;
+
+    @Value("${ads.rollups.enabled}")
+    private boolean rollupsEnabled;
+
+    /**
+     * Recomputes the rollups of a channel for every month overlapping [from, to].
+     */
+    @Transactional
+    public void refresh(Integer marketingChannelId, LocalDate from, LocalDate to) {
+        if (!rollupsEnabled) {
+            return;
+        }
+        LocalDate fromMonth = from.withDayOfMonth(1);
+        LocalDate toMonth = to.with(TemporalAdjusters.lastDayOfMonth());
+
+        // monthly channel rows are summed from the daily ones, so whole months of days go first
+        channelDailyMetricRepository.refresh(marketingChannelId, fromMonth, toMonth);
+        channelMonthlyMetricRepository.refresh(marketingChannelId, fromMonth, toMonth);
+        campaignMonthlyMetricRepository.refresh(marketingChannelId, fromMonth, toMonth);
+
+        log.info("Refreshed rollups for channel {} from {} to {}", marketingChannelId, fromMonth, toMonth);
+    }
+}
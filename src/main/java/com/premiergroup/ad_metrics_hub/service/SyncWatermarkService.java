@@ -0,0 +1,50 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.premiergroup.ad_metrics_hub.entity.SyncWatermark;
+import com.premiergroup.ad_metrics_hub.repository.SyncWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Tracks how far each ad account has been synced so syncs only fetch new data.
+ * <p>
+ * Platforms keep restating recent days (late conversions, invalid-click credits), so a sync
+ * starts {@code ads.sync.lookback-days} before the watermark rather than right after it.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class SyncWatermarkService {
+
+    private final SyncWatermarkRepository syncWatermarkRepository;
+
+    @Value("${ads.sync.lookback-days}")
+    private int lookbackDays;
+
+    /**
+     * First day a sync of this account should fetch, or empty if it has never been synced.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDate> resumeFrom(Integer marketingChannelId, long accountId) {
+        return syncWatermarkRepository.findByMarketingChannel_IdAndAccountId(marketingChannelId, accountId)
+                .map(SyncWatermark::getSyncedThrough)
+                .map(d -> d.minusDays(lookbackDays));
+    }
+
+    /**
+     * Records that every day up to {@code syncedThrough} has been synced. Joins the caller's
+     * transaction, so the scheduled syncs commit the watermark together with the metrics it
+     * covers; a backfill, whose chunks commit on their own, calls this only once they all have.
+     */
+    @Transactional
+    public void advance(Integer marketingChannelId, long accountId, LocalDate syncedThrough) {
+        syncWatermarkRepository.advance(marketingChannelId, accountId, syncedThrough);
+        log.info("Channel {} account {} synced through {}", marketingChannelId, accountId, syncedThrough);
+    }
+}
@@ -0,0 +1,68 @@
+-- Rollup tables maintained by RollupService on every sync.
+-- Rollup: métricas por canal y dia
+CREATE TABLE channel_daily_metrics (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    stats_date DATE NOT NULL,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    conversions BIGINT NOT NULL DEFAULT 0,
+    cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_channel_day (marketing_channels_id, stats_date)
+);
+
+-- Rollup: métricas por canal y mes (stats_month = primer dia del mes)
+CREATE TABLE channel_monthly_metrics (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    stats_month DATE NOT NULL,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    conversions BIGINT NOT NULL DEFAULT 0,
+    cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_channel_month (marketing_channels_id, stats_month)
+);
+
+-- Rollup: métricas por campaña y mes (stats_month = primer dia del mes)
+CREATE TABLE campaign_monthly_metrics (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    campaign_id INT NOT NULL,
+    marketing_channels_id INT NOT NULL,
+    stats_month DATE NOT NULL,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    conversions BIGINT NOT NULL DEFAULT 0,
+    cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (campaign_id) REFERENCES campaigns(id),
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_campaign_month (campaign_id, stats_month),
+    INDEX idx_channel_month (marketing_channels_id, stats_month)
+);
+
+-- Initial load from the existing history
+INSERT INTO channel_daily_metrics (marketing_channels_id, stats_date, impressions, clicks, conversions, cost)
+SELECT c.marketing_channels_id, cm.stats_date,
+       COALESCE(SUM(cm.impressions), 0), COALESCE(SUM(cm.clicks), 0),
+       COALESCE(SUM(cm.conversions), 0), COALESCE(SUM(cm.cost), 0)
+FROM campaign_metrics cm
+JOIN campaigns c ON c.id = cm.campaign_id
+GROUP BY c.marketing_channels_id, cm.stats_date;
+
+INSERT INTO channel_monthly_metrics (marketing_channels_id, stats_month, impressions, clicks, conversions, cost)
+SELECT d.marketing_channels_id,
+       DATE_SUB(d.stats_date, INTERVAL DAYOFMONTH(d.stats_date) - 1 DAY) AS month_start,
+       SUM(d.impressions), SUM(d.clicks), SUM(d.conversions), SUM(d.cost)
+FROM channel_daily_metrics d
+GROUP BY d.marketing_channels_id, month_start;
+
+INSERT INTO campaign_monthly_metrics
+    (campaign_id, marketing_channels_id, stats_month, impressions, clicks, conversions, cost)
+SELECT cm.campaign_id, c.marketing_channels_id,
+       DATE_SUB(cm.stats_date, INTERVAL DAYOFMONTH(cm.stats_date) - 1 DAY) AS month_start,
+       COALESCE(SUM(cm.impressions), 0), COALESCE(SUM(cm.clicks), 0),
+       COALESCE(SUM(cm.conversions), 0), COALESCE(SUM(cm.cost), 0)
+FROM campaign_metrics cm
+JOIN campaigns c ON c.id = cm.campaign_id
+GROUP BY cm.campaign_id, c.marketing_channels_id, month_start;
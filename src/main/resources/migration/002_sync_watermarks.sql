@@ -0,0 +1,10 @@
+-- Per-account sync progress maintained by SyncWatermarkService.
+CREATE TABLE sync_watermarks (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    account_id BIGINT NOT NULL,
+    synced_through DATE NOT NULL,
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_channel_account (marketing_channels_id, account_id)
+);
@@ -0,0 +1,28 @@
+-- Background historical loads run by BackfillService.
+CREATE TABLE backfill_jobs (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    account_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    start_date DATE,
+    end_date DATE,
+    error VARCHAR(255),
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    INDEX idx_status (status)
+);
+
+CREATE TABLE backfill_chunks (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    backfill_jobs_id INT NOT NULL,
+    chunk_start DATE NOT NULL,
+    chunk_end DATE NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    error VARCHAR(255),
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (backfill_jobs_id) REFERENCES backfill_jobs(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_job_chunk (backfill_jobs_id, chunk_start),
+    INDEX idx_job_status (backfill_jobs_id, status)
+);
@@ -0,0 +1,16 @@
+-- Denormalise the campaign's channel onto campaign_metrics so dashboard scans
+-- (channel, date range) resolve from one covering index without joining campaigns.
+
+ALTER TABLE campaign_metrics ADD COLUMN marketing_channels_id INT NULL AFTER campaign_id;
+
+UPDATE campaign_metrics cm
+JOIN campaigns c ON c.id = cm.campaign_id
+SET cm.marketing_channels_id = c.marketing_channels_id;
+
+ALTER TABLE campaign_metrics
+    MODIFY marketing_channels_id INT NOT NULL,
+    ADD FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    ADD INDEX idx_channel_date_covering
+        (marketing_channels_id, stats_date, campaign_id, impressions, clicks, conversions, cost),
+    -- same columns as unique_campaign_metric, which already serves campaign lookups
+    DROP INDEX idx_campaign_date;
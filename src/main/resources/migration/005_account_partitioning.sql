@@ -0,0 +1,12 @@
+-- Partition campaigns and their metrics by ad account, so every client account under a
+-- manager account can be synced, tracked and queried on its own. Rows synced before this
+-- migration have no account yet: campaigns get theirs the next time the campaign list is
+-- synced, and metric rows on their next upsert.
+
+ALTER TABLE campaigns
+    ADD COLUMN account_id BIGINT NULL AFTER marketing_channels_id,
+    ADD INDEX idx_channel_account (marketing_channels_id, account_id);
+
+ALTER TABLE campaign_metrics
+    ADD COLUMN account_id BIGINT NULL AFTER marketing_channels_id,
+    ADD INDEX idx_channel_account_date (marketing_channels_id, account_id, stats_date);
@@ -0,0 +1,52 @@
+-- Make the ad account part of the natural keys of campaigns and their metrics, so a campaign
+-- is identified within its account and each account's rows can never overwrite another's.
+--
+-- Campaigns synced before 005 have no account yet. They all belong to the single account the
+-- channel was synced under then: set it below before running this migration. Run with the mysql
+-- client, which stops at the first error: the check fails while a channel still has campaigns
+-- without an account and its variable is unset.
+SET @google_ads_account_id = NULL;   -- google.ads.customer-id
+SET @bing_ads_account_id = NULL;     -- bingads.account-id
+
+DROP PROCEDURE IF EXISTS check_006_account_ids;
+DELIMITER //
+CREATE PROCEDURE check_006_account_ids()
+BEGIN
+    IF COALESCE(@google_ads_account_id, 0) <= 0
+        AND EXISTS (SELECT 1 FROM campaigns WHERE marketing_channels_id = 1 AND account_id IS NULL) THEN
+        SIGNAL SQLSTATE '45000'
+            SET MESSAGE_TEXT = 'Set @google_ads_account_id to the Google Ads customer id before running 006';
+    END IF;
+    IF COALESCE(@bing_ads_account_id, 0) <= 0
+        AND EXISTS (SELECT 1 FROM campaigns WHERE marketing_channels_id = 5 AND account_id IS NULL) THEN
+        SIGNAL SQLSTATE '45000'
+            SET MESSAGE_TEXT = 'Set @bing_ads_account_id to the Bing Ads account id before running 006';
+    END IF;
+END //
+DELIMITER ;
+
+CALL check_006_account_ids();
+DROP PROCEDURE check_006_account_ids;
+
+UPDATE campaigns SET account_id = @google_ads_account_id
+WHERE marketing_channels_id = 1 AND account_id IS NULL;
+
+UPDATE campaigns SET account_id = @bing_ads_account_id
+WHERE marketing_channels_id = 5 AND account_id IS NULL;
+
+UPDATE campaign_metrics cm
+JOIN campaigns c ON c.id = cm.campaign_id
+SET cm.account_id = c.account_id
+WHERE cm.account_id IS NULL;
+
+ALTER TABLE campaigns
+    MODIFY account_id BIGINT NOT NULL,
+    ADD UNIQUE KEY unique_channel_account_campaign (marketing_channels_id, account_id, campaign_id),
+    DROP INDEX unique_campaign,
+    -- leading columns of unique_channel_account_campaign
+    DROP INDEX idx_channel_account;
+
+ALTER TABLE campaign_metrics
+    MODIFY account_id BIGINT NOT NULL,
+    ADD UNIQUE KEY unique_campaign_account_date (campaign_id, account_id, stats_date),
+    DROP INDEX unique_campaign_metric;
@@ -0,0 +1,5 @@
+-- A backfill job covers every ad account of its channel, so jobs are keyed by channel alone.
+-- The account column held the account the channel was synced under, which changes when
+-- Google Ads account discovery is switched on and would hide the jobs recorded before.
+ALTER TABLE backfill_jobs
+    DROP COLUMN account_id;
@@ -2,17 +2,21 @@
 CREATE TABLE campaigns (
     id INT AUTO_INCREMENT PRIMARY KEY,
     marketing_channels_id INT NOT NULL,
+    account_id BIGINT NOT NULL,           -- cuenta publicitaria de la campaña
     campaign_id VARCHAR(50) NOT NULL,
     name VARCHAR(255),
     status VARCHAR(50),
     FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
-    UNIQUE KEY unique_campaign (marketing_channels_id, campaign_id)
+    -- el id de la plataforma es unico dentro de su cuenta; sirve tambien las consultas por cuenta
+    UNIQUE KEY unique_channel_account_campaign (marketing_channels_id, account_id, campaign_id)
 );
 
 -- Tabla de métricas por campaña y dia
 CREATE TABLE campaign_metrics (
     id INT AUTO_INCREMENT PRIMARY KEY,
     campaign_id INT NOT NULL,
+    marketing_channels_id INT NOT NULL,   -- copia de campaigns.marketing_channels_id
+    account_id BIGINT NOT NULL,           -- copia de campaigns.account_id
     stats_date DATE NOT NULL,
     clicks INT,
     impressions INT,
@@ -26,6 +30,91 @@ CREATE TABLE campaign_metrics (
     value_per_conversion DECIMAL(10,2),   -- Google Ads solamente
     roas DECIMAL(6,2),                    -- Google Ads: conversion_value / cost
     FOREIGN KEY (campaign_id) REFERENCES campaigns(id),
-    UNIQUE KEY unique_campaign_metric (campaign_id, stats_date),
-    INDEX idx_campaign_date (campaign_id, stats_date)
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_campaign_account_date (campaign_id, account_id, stats_date),
+    -- indice de cobertura para las consultas por canal y rango de fechas
+    INDEX idx_channel_date_covering (marketing_channels_id, stats_date, campaign_id, impressions, clicks, conversions, cost),
+    -- consultas y sincronizaciones por cuenta
+    INDEX idx_channel_account_date (marketing_channels_id, account_id, stats_date)
+);
+
+-- Rollup: métricas por canal y dia
+CREATE TABLE channel_daily_metrics (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    stats_date DATE NOT NULL,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    conversions BIGINT NOT NULL DEFAULT 0,
+    cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_channel_day (marketing_channels_id, stats_date)
+);
+
+-- Rollup: métricas por canal y mes (stats_month = primer dia del mes)
+CREATE TABLE channel_monthly_metrics (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    stats_month DATE NOT NULL,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    conversions BIGINT NOT NULL DEFAULT 0,
+    cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_channel_month (marketing_channels_id, stats_month)
+);
+
+-- Rollup: métricas por campaña y mes (stats_month = primer dia del mes)
+CREATE TABLE campaign_monthly_metrics (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    campaign_id INT NOT NULL,
+    marketing_channels_id INT NOT NULL,
+    stats_month DATE NOT NULL,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    clicks BIGINT NOT NULL DEFAULT 0,
+    conversions BIGINT NOT NULL DEFAULT 0,
+    cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (campaign_id) REFERENCES campaigns(id),
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_campaign_month (campaign_id, stats_month),
+    INDEX idx_channel_month (marketing_channels_id, stats_month)
+);
+
+-- Ultimo dia sincronizado por canal y cuenta
+CREATE TABLE sync_watermarks (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    account_id BIGINT NOT NULL,
+    synced_through DATE NOT NULL,
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    UNIQUE KEY unique_channel_account (marketing_channels_id, account_id)
+);
+
+-- Cargas historicas en segundo plano y sus tramos; una carga cubre todas las cuentas del canal
+CREATE TABLE backfill_jobs (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    marketing_channels_id INT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    start_date DATE,
+    end_date DATE,
+    error VARCHAR(255),
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (marketing_channels_id) REFERENCES marketing_channels(id),
+    INDEX idx_status (status)
+);
+
+CREATE TABLE backfill_chunks (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    backfill_jobs_id INT NOT NULL,
+    chunk_start DATE NOT NULL,
+    chunk_end DATE NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    error VARCHAR(255),
+    updated_at DATETIME NOT NULL,
+    FOREIGN KEY (backfill_jobs_id) REFERENCES backfill_jobs(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_job_chunk (backfill_jobs_id, chunk_start),
+    INDEX idx_job_status (backfill_jobs_id, status)
 );
\ No newline at end of file
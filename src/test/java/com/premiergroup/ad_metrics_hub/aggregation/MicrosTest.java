@@ -0,0 +1,163 @@
+package com.premiergroup.ad_metrics_hub.aggregation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Every quotient must round exactly as the {@link BigDecimal} computation it replaces, ties and
+ * negative values included.
+ */
+class MicrosTest {
+
+    private static final int RANDOM_CASES = 100_000;
+
+    @ParameterizedTest
+    @CsvSource({
+            "0,          0",
+            "1.5,        1500000",
+            "0.0000005,  1",
+            "0.0000004,  0",
+            "0.00000049, 0",
+            "-0.0000005, -1",
+            "-0.0000004, 0",
+            "0.1234565,  123457",
+            "-0.1234565, -123457",
+            "12.9999995, 13000000",
+    })
+    void ofRoundsHalfUp(String amount, long micros) {
+        assertThat(Micros.of(new BigDecimal(amount))).isEqualTo(micros);
+    }
+
+    @Test
+    void ofRejectsAmountsBeyondALong() {
+        assertThatThrownBy(() -> Micros.of(new BigDecimal("9223372036854.775808")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(Micros.of(new BigDecimal("9223372036854.775807"))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // exact
+            "1234560000, 2, 1234.56",
+            // ties, both signs
+            "1234565000, 2, 1234.57",
+            "-1234565000, 2, -1234.57",
+            "1234564999, 2, 1234.56",
+            "-1234564999, 2, -1234.56",
+            "500000, 0, 1",
+            "-500000, 0, -1",
+            "499999, 0, 0",
+            "1234567, 6, 1.234567",
+            "0, 2, 0.00",
+    })
+    void toDecimalRoundsHalfUp(long micros, int scale, String expected) {
+        assertThat(Micros.toDecimal(micros, scale)).isEqualTo(new BigDecimal(expected));
+    }
+
+    @Test
+    void toDecimalKeepsEveryMicro() {
+        assertThat(Micros.toDecimal(-1_234_567L)).isEqualTo(new BigDecimal("-1.234567"));
+        assertThat(Micros.toDecimal(Long.MAX_VALUE)).isEqualTo(new BigDecimal("9223372036854.775807"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // 1/8 = 0.125 at 2 dp: a tie
+            "1, 8, 2, 13",
+            "-1, 8, 2, -13",
+            "1, -8, 2, -13",
+            "-1, -8, 2, 13",
+            "1, 3, 4, 3333",
+            "2, 3, 4, 6667",
+            "-2, 3, 4, -6667",
+            "0, 7, 2, 0",
+            "3, 1, 2, 300",
+    })
+    void ratioRoundsHalfUp(long dividend, long divisor, int scale, long expected) {
+        assertThat(Micros.ratio(dividend, divisor, scale)).isEqualTo(expected);
+    }
+
+    @Test
+    void ratioFallsBackToBigDecimalWhenTheProductOverflows() {
+        assertThat(Micros.ratio(Long.MAX_VALUE, Long.MAX_VALUE, 4)).isEqualTo(10_000L);
+        assertThat(Micros.ratio(Long.MAX_VALUE / 3, Long.MAX_VALUE / 2, 2)).isEqualTo(67L);
+        assertThat(Micros.ratio(-Long.MAX_VALUE, 3 * (Long.MAX_VALUE / 4), 6))
+                .isEqualTo(bigDecimalRatio(-Long.MAX_VALUE, 3 * (Long.MAX_VALUE / 4), 6));
+    }
+
+    @Test
+    void ratioRejectsQuotientsBeyondALong() {
+        assertThatThrownBy(() -> Micros.ratio(Long.MAX_VALUE, 1, 2)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // 1.25 / 2 = 0.625 at 2 dp: a tie
+            "1250000, 2, 2, 63",
+            "-1250000, 2, 2, -63",
+            "1250000, -2, 2, -63",
+            "1000000, 3, 2, 33",
+            "2000000, 3, 2, 67",
+            "2000000, 3, 6, 666667",
+            "0, 5, 2, 0",
+    })
+    void perUnitRoundsHalfUp(long micros, long count, int scale, long expected) {
+        assertThat(Micros.perUnit(micros, count, scale)).isEqualTo(expected);
+    }
+
+    @Test
+    void perUnitRejectsCountsBeyondALongOnceScaled() {
+        assertThatThrownBy(() -> Micros.perUnit(1, Long.MAX_VALUE / 10, 2)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void zeroDivisorsThrow() {
+        assertThatThrownBy(() -> Micros.ratio(1, 0, 2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Micros.ratio(Long.MAX_VALUE, 0, 2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Micros.perUnit(1, 0, 2)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void matchesBigDecimalOnRandomValues() {
+        SplittableRandom random = new SplittableRandom(20250301L);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            // amounts up to a billion currency units, counts up to a billion, either sign
+            long micros = random.nextLong(-1_000_000_000L * Micros.ONE, 1_000_000_000L * Micros.ONE);
+            long count = random.nextLong(1, 1_000_000_000L) * (random.nextBoolean() ? 1 : -1);
+            // at least a thousand, so the quotient of an amount fits a long at any scale while the
+            // product overflows, exercising the fallback
+            long divisor = random.nextLong(1_000L, 1_000_000_000L * Micros.ONE) * (random.nextBoolean() ? 1 : -1);
+            int scale = random.nextInt(Micros.SCALE + 1);
+
+            assertThat(Micros.toDecimal(micros, scale))
+                    .as("toDecimal(%d, %d)", micros, scale)
+                    .isEqualTo(Micros.toDecimal(micros).setScale(scale, RoundingMode.HALF_UP));
+            assertThat(Micros.of(Micros.toDecimal(micros))).isEqualTo(micros);
+            assertThat(Micros.perUnit(micros, count, scale))
+                    .as("perUnit(%d, %d, %d)", micros, count, scale)
+                    .isEqualTo(Micros.toDecimal(micros)
+                            .divide(BigDecimal.valueOf(count), scale, RoundingMode.HALF_UP)
+                            .unscaledValue().longValueExact());
+            assertThat(Micros.ratio(micros, divisor, scale))
+                    .as("ratio(%d, %d, %d)", micros, divisor, scale)
+                    .isEqualTo(bigDecimalRatio(micros, divisor, scale));
+            assertThat(Micros.ratio(count, micros == 0 ? 1 : micros, scale))
+                    .as("ratio(%d, %d, %d)", count, micros, scale)
+                    .isEqualTo(bigDecimalRatio(count, micros == 0 ? 1 : micros, scale));
+        }
+    }
+
+    private static long bigDecimalRatio(long dividend, long divisor, int scale) {
+        return BigDecimal.valueOf(dividend)
+                .divide(BigDecimal.valueOf(divisor), scale, RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,250 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+import com.premiergroup.ad_metrics_hub.aggregation.Micros;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The reader must find the data between the report preamble and the copyright footer, and parse
+ * each field the way the rest of the pipeline would from a {@link BigDecimal}.
+ */
+class BingReportCsvReaderTest {
+
+    private static final String PREAMBLE = """
+            "Report Name: AllCampaignStats"
+            "Report Time: 3/1/2025,3/2/2025"
+            "Time Zone: (GMT-05:00) Eastern Time (US & Canada)"
+            "Last Completed Available Day: 3/3/2025 4:30:00 AM (GMT)"
+            "Report Aggregation: Daily"
+            "Report Filter: "
+            "Potential Incomplete Data: false"
+            "Rows: 3"
+
+            """;
+
+    private static final String HEADER = "\"TimePeriod\",\"CampaignId\",\"Impressions\",\"Clicks\",\"Spend\","
+            + "\"Ctr\",\"AverageCpc\",\"Conversions\",\"ConversionRate\"\n";
+
+    private static final String FOOTER = "\n\"©2025 Microsoft Corporation. All rights reserved. \"\n";
+
+    /**
+     * The fields of a {@link BingReportCsvReader.Row}, copied since the reader reuses it.
+     */
+    private record Line(LocalDate date, long campaignId, long impressions, long clicks, long spendMicros,
+                        long ctrMicros, long averageCpcMicros, long conversions, long conversionRateMicros) {
+    }
+
+    private final List<Line> lines = new ArrayList<>();
+
+    @Test
+    void readsTheRowsBetweenThePreambleAndTheFooter() throws IOException {
+        BingReportCsvReader.Summary summary = read(PREAMBLE + HEADER
+                + "\"2025-03-01\",\"1001\",\"1,234\",\"56\",\"1,078.90\",\"4.54%\",\"19.27\",\"3\",\"5.36%\"\n"
+                + "\"2025-03-01\",\"1002\",\"0\",\"0\",\"0.00\",\"0.00%\",\"0.00\",\"0\",\"0.00%\"\n"
+                + "\"2025-03-02\",\"1001\",\"987\",\"12\",\"15.5\",\"1.22%\",\"1.29\",\"1\",\"8.33%\"\n"
+                + FOOTER);
+
+        assertThat(summary).isEqualTo(new BingReportCsvReader.Summary(3, 0));
+        assertThat(lines).containsExactly(
+                new Line(LocalDate.of(2025, 3, 1), 1001, 1_234, 56, 1_078_900_000, 4_540_000, 19_270_000, 3, 5_360_000),
+                new Line(LocalDate.of(2025, 3, 1), 1002, 0, 0, 0, 0, 0, 0, 0),
+                new Line(LocalDate.of(2025, 3, 2), 1001, 987, 12, 15_500_000, 1_220_000, 1_290_000, 1, 8_330_000));
+    }
+
+    @Test
+    void readsUnquotedFields() throws IOException {
+        read("TimePeriod,CampaignId,Impressions,Clicks,Spend,Ctr,AverageCpc,Conversions,ConversionRate\n"
+                + "2025-03-01,1001,100,5,2.50,5.00%,0.50,1,20.00%\n");
+
+        assertThat(lines).containsExactly(
+                new Line(LocalDate.of(2025, 3, 1), 1001, 100, 5, 2_500_000, 5_000_000, 500_000, 1, 20_000_000));
+    }
+
+    @Test
+    void takesTheColumnOrderFromTheHeader() throws IOException {
+        read("\"TimePeriod\",\"CampaignName\",\"Clicks\",\"Impressions\",\"CampaignId\",\"ConversionRate\","
+                + "\"Conversions\",\"AverageCpc\",\"Ctr\",\"Spend\"\n"
+                + "\"2025-03-01\",\"Brand, US\",\"5\",\"100\",\"1001\",\"20.00%\",\"1\",\"0.50\",\"5.00%\",\"2.50\"\n");
+
+        assertThat(lines).containsExactly(
+                new Line(LocalDate.of(2025, 3, 1), 1001, 100, 5, 2_500_000, 5_000_000, 500_000, 1, 20_000_000));
+    }
+
+    @Test
+    void skipsTheByteOrderMarkAndCarriageReturns() throws IOException {
+        String report = "\uFEFF" + (PREAMBLE + HEADER
+                + "\"2025-03-01\",\"1001\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                + FOOTER).replace("\n", "\r\n");
+
+        BingReportCsvReader.Summary summary = read(report);
+
+        assertThat(summary).isEqualTo(new BingReportCsvReader.Summary(1, 0));
+        assertThat(lines).containsExactly(
+                new Line(LocalDate.of(2025, 3, 1), 1001, 100, 5, 2_500_000, 5_000_000, 500_000, 1, 20_000_000));
+    }
+
+    @Test
+    void readsLinesSplitAcrossReads() throws IOException {
+        String report = "\uFEFF" + (PREAMBLE + HEADER
+                + "\"2025-03-01\",\"1001\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                + FOOTER).replace("\n", "\r\n");
+
+        // one char per read, so every CR LF pair straddles two buffers
+        BingReportCsvReader.Summary summary = new BingReportCsvReader(new OneCharReader(report)).read(this::collect);
+
+        assertThat(summary).isEqualTo(new BingReportCsvReader.Summary(1, 0));
+        assertThat(lines).hasSize(1);
+    }
+
+    @Test
+    void stopsAtTheFooterWithoutABlankLine() throws IOException {
+        BingReportCsvReader.Summary summary = read(HEADER
+                + "\"2025-03-01\",\"1001\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                + "\"©2025 Microsoft Corporation. All rights reserved. \"\n"
+                + "\"2025-03-02\",\"1001\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n");
+
+        assertThat(summary).isEqualTo(new BingReportCsvReader.Summary(1, 0));
+    }
+
+    @Test
+    void stopsAtTheFirstBlankLine() throws IOException {
+        BingReportCsvReader.Summary summary = read(HEADER
+                + "\"2025-03-01\",\"1001\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                + "\n"
+                + "\"2025-03-02\",\"1001\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n");
+
+        assertThat(summary).isEqualTo(new BingReportCsvReader.Summary(1, 0));
+    }
+
+    @Test
+    void readsAReportWithoutRows() throws IOException {
+        assertThat(read(PREAMBLE + HEADER + FOOTER)).isEqualTo(new BingReportCsvReader.Summary(0, 0));
+        assertThat(lines).isEmpty();
+    }
+
+    @Test
+    void rejectsAReportWithoutHeader() {
+        assertThatThrownBy(() -> read(PREAMBLE + FOOTER))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("No TimePeriod header found in Bing report");
+    }
+
+    @Test
+    void rejectsAHeaderWithoutAColumn() {
+        assertThatThrownBy(() -> read(PREAMBLE
+                + "\"TimePeriod\",\"CampaignId\",\"Impressions\",\"Clicks\",\"Spend\","
+                + "\"Ctr\",\"AverageCpc\",\"Conversions\"\n" + FOOTER))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Bing report is missing column ConversionRate");
+    }
+
+    @Test
+    void countsAndSkipsMalformedLines() throws IOException {
+        BingReportCsvReader.Summary summary = read(PREAMBLE + HEADER
+                // a field short
+                + "\"2025-03-01\",\"1001\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\"\n"
+                + "\"2025-03-01\",\"1002\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                // not a date
+                + "\"03/01/2025\",\"1003\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                // not a number
+                + "\"2025-03-01\",\"1004\",\"n/a\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                // too large for a long
+                + "\"2025-03-01\",\"1005\",\"100\",\"5\",\"99999999999999.00\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                + "\"2025-03-02\",\"1006\",\"100\",\"5\",\"2.50\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                + FOOTER);
+
+        assertThat(summary).isEqualTo(new BingReportCsvReader.Summary(2, 4));
+        assertThat(lines).extracting(Line::campaignId).containsExactly(1002L, 1006L);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "2.50          | 2500000",
+            "'1,234,567.8' | 1234567800000",
+            "5.36%         | 5360000",
+            "' 12.5 '      | 12500000",
+            "-3.25         | -3250000",
+            "' -3.25'      | -3250000",
+            "-0.0000005    | -1",
+            "7             | 7000000",
+            ".5            | 500000",
+            "0.1234565     | 123457",
+            "0.1234564     | 123456",
+            "0.12345649    | 123456",
+            "0.9999995     | 1000000",
+            "-0.1234565    | -123457",
+    })
+    void parsesDecimalsAsMicros(String spend, long expectedMicros) throws IOException {
+        readSpend(spend);
+
+        assertThat(lines).extracting(Line::spendMicros).containsExactly(expectedMicros);
+        assertThat(expectedMicros).isEqualTo(Micros.of(new BigDecimal(spend.strip().replace(",", "").replace("%", ""))));
+    }
+
+    @Test
+    void parsesAnEmptyFieldAsZero() throws IOException {
+        readSpend("");
+
+        assertThat(lines).extracting(Line::spendMicros).containsExactly(0L);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0-5", "00-1", "1.2.3", "--1", "1-", "1e3"})
+    void rejectsMisplacedSignsAndOtherCharacters(String spend) throws IOException {
+        BingReportCsvReader.Summary summary = readSpend(spend);
+
+        assertThat(summary).isEqualTo(new BingReportCsvReader.Summary(0, 1));
+    }
+
+    private BingReportCsvReader.Summary readSpend(String spend) throws IOException {
+        return read(HEADER
+                + "\"2025-03-01\",\"1001\",\"100\",\"5\",\"" + spend + "\",\"5.00%\",\"0.50\",\"1\",\"20.00%\"\n"
+                + FOOTER);
+    }
+
+    private BingReportCsvReader.Summary read(String report) throws IOException {
+        return new BingReportCsvReader(new StringReader(report)).read(this::collect);
+    }
+
+    private void collect(BingReportCsvReader.Row row) {
+        lines.add(new Line(row.date(), row.campaignId(), row.impressions(), row.clicks(), row.spendMicros(),
+                row.ctrMicros(), row.averageCpcMicros(), row.conversions(), row.conversionRateMicros()));
+    }
+
+    /**
+     * Hands out one char per read.
+     */
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int pos;
+
+        OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (pos == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(pos++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.premiergroup.ad_metrics_hub.ingestion;
+
+import com.premiergroup.ad_metrics_hub.repository.CampaignMetricJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The pipeline must hand every record of the tasks that succeed to the batch, keep going when
+ * one task fails and return it, stop every fetcher when persisting fails or a transform worker
+ * dies, and never let a partition fetch more tasks at once than its limit. Queues and batches are kept tiny so every stage blocks on the
+ * next one many times per run.
+ */
+class IngestionPipelineTest {
+
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int BATCH_SIZE = 10;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final Duration DEADLOCK_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * One day of one ad account.
+     */
+    private record Task(long account, int day) {
+    }
+
+    /**
+     * One campaign's row of a {@link Task}.
+     */
+    private record Item(Task task, int campaign) {
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CampaignMetricJdbcRepository jdbcRepository = mock(CampaignMetricJdbcRepository.class);
+    private final List<MetricRecord> upserted = new ArrayList<>();
+
+    private IngestionPipeline pipeline;
+    private MetricBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        IngestionMetrics metrics = new IngestionMetrics(registry);
+        pipeline = new IngestionPipeline(metrics);
+        ReflectionTestUtils.setField(pipeline, "fetchConcurrency", 8);
+        ReflectionTestUtils.setField(pipeline, "transformThreads", 2);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", QUEUE_CAPACITY);
+
+        writer = new MetricBatchWriter(jdbcRepository, mock(EntityManager.class), metrics);
+        ReflectionTestUtils.setField(writer, "batchSize", BATCH_SIZE);
+        // the batch clears its buffer once upserted
+        doAnswer(invocation -> upserted.addAll(invocation.getArgument(0))).when(jdbcRepository).upsert(anyList());
+    }
+
+    @Test
+    void persistsEveryRecord() {
+        List<Task> tasks = tasks(List.of(1L, 2L, 3L), 10);
+        InMemorySource source = new InMemorySource(25);
+
+        List<Task> failed;
+        try (MetricBatchWriter.Batch batch = writer.open()) {
+            failed = pipeline.run(tasks, source, batch);
+        }
+
+        assertThat(failed).isEmpty();
+        assertThat(upserted).hasSize(3 * 10 * 25);
+        assertThat(upserted).doesNotHaveDuplicates();
+        assertThat(registry.counter("ads.ingestion.pipeline.items", "channel", "test", "stage", "persist").count())
+                .isEqualTo(3 * 10 * 25);
+    }
+
+    @Test
+    void skipsItemsTransformedToNullOrFailing() {
+        InMemorySource source = new InMemorySource(25) {
+            @Override
+            public MetricRecord transform(Item item) {
+                if (item.campaign() == 3) {
+                    return null;
+                }
+                if (item.campaign() == 4) {
+                    throw new IllegalArgumentException("Unknown campaign");
+                }
+                return super.transform(item);
+            }
+        };
+
+        try (MetricBatchWriter.Batch batch = writer.open()) {
+            pipeline.run(tasks(List.of(1L, 2L), 5), source, batch);
+        }
+
+        assertThat(upserted).hasSize(2 * 5 * 23);
+        assertThat(upserted).extracting(MetricRecord::campaignId).doesNotContain(3, 4);
+    }
+
+    @Test
+    void doesNothingWithoutTasks() {
+        try (MetricBatchWriter.Batch batch = writer.open()) {
+            pipeline.run(List.of(), new InMemorySource(25), batch);
+        }
+
+        assertThat(upserted).isEmpty();
+    }
+
+    @Test
+    void aFailingPartitionDoesNotStopTheOthers() {
+        List<Task> tasks = tasks(List.of(1L, 2L, 3L), 10);
+        InMemorySource source = new InMemorySource(25) {
+            @Override
+            public void fetch(Task task, Emitter<Item> emitter) throws InterruptedException {
+                if (task.account() == 2) {
+                    emitter.emit(new Item(task, 0));
+                    throw new IllegalStateException("Account 2 is not authorised");
+                }
+                super.fetch(task, emitter);
+            }
+        };
+
+        List<Task> failed;
+        try (MetricBatchWriter.Batch batch = writer.open()) {
+            failed = pipeline.run(tasks, Task::account, 2, source, batch);
+        }
+
+        assertThat(failed).containsExactlyInAnyOrderElementsOf(tasks(List.of(2L), 10));
+        // what account 2 emitted before failing is kept
+        assertThat(upserted).filteredOn(r -> r.accountId() == 2).hasSize(10);
+        assertThat(upserted).filteredOn(r -> r.accountId() != 2).hasSize(2 * 10 * 25);
+    }
+
+    @Test
+    void aWriterFailureStopsTheFetchersWithoutDeadlock() {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("Connection lost");
+        }).when(jdbcRepository).upsert(anyList());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        // every task emits until interrupted, so the fetchers are blocked on the full queue
+        InMemorySource source = new InMemorySource(0) {
+            @Override
+            public void fetch(Task task, Emitter<Item> emitter) throws InterruptedException {
+                running.incrementAndGet();
+                try {
+                    for (int campaign = 0; ; campaign++) {
+                        emitter.emit(new Item(task, campaign));
+                    }
+                } finally {
+                    running.decrementAndGet();
+                    finished.incrementAndGet();
+                }
+            }
+        };
+        List<Task> tasks = tasks(List.of(1L, 2L, 3L), 10);
+
+        assertTimeoutPreemptively(DEADLOCK_TIMEOUT, () -> {
+            try (MetricBatchWriter.Batch batch = writer.open()) {
+                assertThatThrownBy(() -> pipeline.run(tasks, Task::account, 2, source, batch))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessage("Connection lost");
+            } catch (IllegalStateException closing) {
+                // closing flushes what is still buffered, to the same failing repository
+            }
+        });
+
+        // the run returns only once every fetcher has stopped; the ones still queued never start
+        assertThat(running).hasValue(0);
+        assertThat(finished.get()).isPositive().isLessThan(tasks.size());
+    }
+
+    @Test
+    void aFetchDyingFromAnErrorIsReturnedWithoutDeadlock() {
+        InMemorySource source = new InMemorySource(25) {
+            @Override
+            public void fetch(Task task, Emitter<Item> emitter) throws InterruptedException {
+                if (task.day() == 0) {
+                    throw new AssertionError("Unexpected report layout");
+                }
+                super.fetch(task, emitter);
+            }
+        };
+        List<Task> tasks = tasks(List.of(1L, 2L), 5);
+
+        List<Task> failed = assertTimeoutPreemptively(DEADLOCK_TIMEOUT, () -> {
+            try (MetricBatchWriter.Batch batch = writer.open()) {
+                return pipeline.run(tasks, source, batch);
+            }
+        });
+
+        assertThat(failed).containsExactlyInAnyOrder(new Task(1, 0), new Task(2, 0));
+        assertThat(upserted).hasSize(2 * 4 * 25);
+    }
+
+    @Test
+    void aTransformWorkerDyingFailsTheRunWithoutDeadlock() {
+        // every worker dies on its first item, so nothing would ever signal the end of the records
+        InMemorySource source = new InMemorySource(25) {
+            @Override
+            public MetricRecord transform(Item item) {
+                throw new OutOfMemoryError("Java heap space");
+            }
+        };
+        List<Task> tasks = tasks(List.of(1L, 2L, 3L), 10);
+
+        assertTimeoutPreemptively(DEADLOCK_TIMEOUT, () -> {
+            try (MetricBatchWriter.Batch batch = writer.open()) {
+                assertThatThrownBy(() -> pipeline.run(tasks, source, batch))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessage("Metric transform worker failed")
+                        .hasCauseInstanceOf(OutOfMemoryError.class);
+            }
+        });
+
+        assertThat(upserted).isEmpty();
+    }
+
+    @Test
+    void partitionsNeverExceedTheirLimit() {
+        int perPartition = 2;
+        Map<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> peak = new ConcurrentHashMap<>();
+        AtomicInteger overallInFlight = new AtomicInteger();
+        AtomicInteger overallPeak = new AtomicInteger();
+        InMemorySource source = new InMemorySource(5) {
+            @Override
+            public void fetch(Task task, Emitter<Item> emitter) throws InterruptedException {
+                int current = inFlight.computeIfAbsent(task.account(), a -> new AtomicInteger()).incrementAndGet();
+                peak.computeIfAbsent(task.account(), a -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+                overallPeak.accumulateAndGet(overallInFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);                       // a platform call
+                    super.fetch(task, emitter);
+                } finally {
+                    overallInFlight.decrementAndGet();
+                    inFlight.get(task.account()).decrementAndGet();
+                }
+            }
+        };
+        List<Task> tasks = tasks(List.of(1L, 2L, 3L, 4L, 5L), 12);
+
+        try (MetricBatchWriter.Batch batch = writer.open()) {
+            pipeline.run(tasks, Task::account, perPartition, source, batch);
+        }
+
+        assertThat(peak).containsOnlyKeys(Set.of(1L, 2L, 3L, 4L, 5L));
+        assertThat(peak.values()).allSatisfy(p -> assertThat(p.get()).isBetween(1, perPartition));
+        // five partitions of two could run ten at once: the overall limit still applies
+        assertThat(overallPeak.get()).isBetween(perPartition + 1, 8);
+        assertThat(upserted).hasSize(5 * 12 * 5);
+    }
+
+    private static List<Task> tasks(List<Long> accounts, int days) {
+        return accounts.stream()
+                .flatMap(account -> IntStream.range(0, days).mapToObj(day -> new Task(account, day)))
+                .toList();
+    }
+
+    /**
+     * Emits {@code campaigns} items per task, one per campaign, each becoming one record.
+     */
+    private static class InMemorySource implements MetricSource<Task, Item> {
+
+        private final int campaigns;
+
+        InMemorySource(int campaigns) {
+            this.campaigns = campaigns;
+        }
+
+        @Override
+        public String channel() {
+            return "test";
+        }
+
+        @Override
+        public void fetch(Task task, Emitter<Item> emitter) throws InterruptedException {
+            for (int campaign = 0; campaign < campaigns; campaign++) {
+                emitter.emit(new Item(task, campaign));
+            }
+        }
+
+        @Override
+        public MetricRecord transform(Item item) {
+            return new MetricRecord(item.campaign(), 1, item.task().account(), FIRST_DAY.plusDays(item.task().day()),
+                    item.campaign(), 10 * item.campaign(), null, null, null, null, null, null, null, null, null);
+        }
+    }
+}
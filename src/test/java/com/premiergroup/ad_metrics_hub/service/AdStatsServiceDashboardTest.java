@@ -0,0 +1,135 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.premiergroup.ad_metrics_hub.dto.DashboardAdsStats;
+import com.premiergroup.ad_metrics_hub.entity.Campaign;
+import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
+import com.premiergroup.ad_metrics_hub.entity.MarketingChannel;
+import com.premiergroup.ad_metrics_hub.enums.DateFilter;
+import com.premiergroup.ad_metrics_hub.enums.MetricFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The combined dashboard computes its parts from one shared scan; each part must still equal what
+ * its own endpoint returns, whether or not the window and its comparison periods fall on month
+ * boundaries.
+ */
+@DataJpaTest(properties = "ads.rollups.enabled=false")
+@Import(MetricQueryService.class)
+class AdStatsServiceDashboardTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MetricQueryService metricQueryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AdStatsService adStatsService;
+    private int marketingChannelId;
+
+    @BeforeEach
+    void setUp() {
+        // a cache that keeps nothing, so the dashboard and the endpoints are all computed
+        adStatsService = new AdStatsService(metricQueryService, new DashboardCache(0, 1), new ObjectMapper(),
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+
+        MarketingChannel channel = entityManager.persist(MarketingChannel.builder()
+                .sourceName("Channel")
+                .isActive(true)
+                .build());
+        marketingChannelId = channel.getId();
+        // the last campaign stops before 2024, so it only has data in the comparison periods;
+        // two campaigns share a name
+        seedCampaign(channel, 1, "Brand", LocalDate.of(2022, 6, 1), LocalDate.of(2024, 12, 31));
+        seedCampaign(channel, 2, "Brand", LocalDate.of(2023, 3, 15), LocalDate.of(2024, 12, 31));
+        seedCampaign(channel, 3, "Search", LocalDate.of(2022, 6, 1), LocalDate.of(2024, 9, 30));
+        seedCampaign(channel, 4, "Retired", LocalDate.of(2022, 6, 1), LocalDate.of(2023, 12, 31));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // whole months
+            "2024-01-01, 2024-06-30",
+            // a leap year: the preceding period starts on 2022-12-31
+            "2024-01-01, 2024-12-31",
+            // neither the window nor the preceding period fall on month boundaries
+            "2024-02-10, 2024-07-20",
+            // the preceding period and the previous calendar year overlap
+            "2024-03-01, 2024-11-15",
+    })
+    void monthlyDashboardMatchesEachEndpoint(String start, String end) {
+        assertDashboardMatchesEachEndpoint(start, end);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2024-03-01, 2024-03-31",
+            "2024-02-20, 2024-04-10",
+    })
+    void dailyDashboardMatchesEachEndpoint(String start, String end) {
+        assertDashboardMatchesEachEndpoint(start, end);
+    }
+
+    private void assertDashboardMatchesEachEndpoint(String start, String end) {
+        DashboardAdsStats dashboard = adStatsService.getDashboard(
+                marketingChannelId, DateFilter.CUSTOM, start, end, MetricFilter.CLICKS, null, false);
+
+        assertThat(dashboard.widget()).isEqualTo(adStatsService.getSWidgetAdsStats(
+                marketingChannelId, DateFilter.CUSTOM, start, end));
+        assertThat(dashboard.graph()).isEqualTo(adStatsService.getCampaignAdsStatsGraph(
+                marketingChannelId, DateFilter.CUSTOM, start, end, MetricFilter.CLICKS, null, false));
+        assertThat(dashboard.table()).isEqualTo(adStatsService.getCampaignAdsStatsTable(
+                marketingChannelId, DateFilter.CUSTOM, start, end));
+        assertThat(dashboard.table()).isNotEmpty();
+        // the two "Brand" campaigns make one series
+        assertThat(dashboard.graph().campaignValues()).flatExtracting(Map::keySet)
+                .containsExactlyInAnyOrder("Brand", "Search");
+        assertThat(dashboard.graph().campaignCostsRelatedValues()).containsOnlyKeys("Brand", "Search");
+    }
+
+    /**
+     * Metrics every other day of [from, to], varying by campaign and day.
+     */
+    private void seedCampaign(MarketingChannel channel, int c, String name, LocalDate from, LocalDate to) {
+        Campaign campaign = entityManager.persist(Campaign.builder()
+                .marketingChannel(channel)
+                .accountId(100L)
+                .campaignId(String.valueOf(9_000 + c))
+                .name(name)
+                .status("ENABLED")
+                .build());
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(2)) {
+            int seed = c * 31 + day.getDayOfYear();
+            entityManager.persist(CampaignMetric.builder()
+                    .campaign(campaign)
+                    .marketingChannelId(channel.getId())
+                    .accountId(100L)
+                    .statsDate(day)
+                    .impressions(1_000 + seed * 7 % 500)
+                    .clicks(50 + seed % 40)
+                    .conversions(seed % 6)
+                    .cost(BigDecimal.valueOf(1_000 + seed * 13 % 9_000, 2))
+                    .build());
+        }
+    }
+}
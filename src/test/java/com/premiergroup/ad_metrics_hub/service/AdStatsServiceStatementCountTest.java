@@ -0,0 +1,159 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.premiergroup.ad_metrics_hub.entity.Campaign;
+import com.premiergroup.ad_metrics_hub.entity.CampaignMetric;
+import com.premiergroup.ad_metrics_hub.entity.MarketingChannel;
+import com.premiergroup.ad_metrics_hub.enums.DateFilter;
+import com.premiergroup.ad_metrics_hub.enums.MetricFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dashboard reads must not resolve campaigns one by one: each endpoint issues the same
+ * number of SQL statements for a channel with one campaign as for a channel with many.
+ */
+@DataJpaTest(properties = {
+        "ads.rollups.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(MetricQueryService.class)
+class AdStatsServiceStatementCountTest {
+
+    private static final int MANY_CAMPAIGNS = 25;
+
+    /**
+     * Day buckets: one month.
+     */
+    private static final String DAILY_START = "2025-03-01";
+    private static final String DAILY_END = "2025-03-31";
+
+    /**
+     * Month buckets: more than 60 days, compared with the preceding period and with all of 2024.
+     */
+    private static final String MONTHLY_START = "2025-01-01";
+    private static final String MONTHLY_END = "2025-06-30";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MetricQueryService metricQueryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AdStatsService adStatsService;
+    private Statistics statistics;
+    private int singleCampaignChannel;
+    private int manyCampaignsChannel;
+
+    @BeforeEach
+    void setUp() {
+        // a cache that keeps nothing, so every call reaches the database
+        adStatsService = new AdStatsService(metricQueryService, new DashboardCache(0, 1), new ObjectMapper(),
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        singleCampaignChannel = seedChannel(1);
+        manyCampaignsChannel = seedChannel(MANY_CAMPAIGNS);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void graphStatementsDoNotGrowWithCampaigns() {
+        assertConstantStatements(channel -> adStatsService.getCampaignAdsStatsGraph(
+                channel, DateFilter.CUSTOM, DAILY_START, DAILY_END, MetricFilter.CLICKS, null, false));
+        assertConstantStatements(channel -> adStatsService.getCampaignAdsStatsGraph(
+                channel, DateFilter.CUSTOM, MONTHLY_START, MONTHLY_END, MetricFilter.CLICKS, null, false));
+    }
+
+    @Test
+    void tableStatementsDoNotGrowWithCampaigns() {
+        assertConstantStatements(channel -> adStatsService.getCampaignAdsStatsTable(
+                channel, DateFilter.CUSTOM, DAILY_START, DAILY_END));
+        assertConstantStatements(channel -> adStatsService.getCampaignAdsStatsTable(
+                channel, DateFilter.CUSTOM, MONTHLY_START, MONTHLY_END));
+    }
+
+    @Test
+    void dashboardStatementsDoNotGrowWithCampaigns() {
+        assertConstantStatements(channel -> adStatsService.getDashboard(
+                channel, DateFilter.CUSTOM, DAILY_START, DAILY_END, MetricFilter.CONVERSIONS, 10, true));
+        assertConstantStatements(channel -> adStatsService.getDashboard(
+                channel, DateFilter.CUSTOM, MONTHLY_START, MONTHLY_END, MetricFilter.CONVERSIONS, 10, true));
+    }
+
+    private void assertConstantStatements(IntConsumer request) {
+        long single = statements(request, singleCampaignChannel);
+        long many = statements(request, manyCampaignsChannel);
+
+        assertThat(single).isPositive();
+        assertThat(many).isEqualTo(single);
+    }
+
+    /**
+     * SQL statements one request issues, with nothing left in the persistence context.
+     */
+    private long statements(IntConsumer request, int marketingChannelId) {
+        entityManager.clear();
+        statistics.clear();
+        request.accept(marketingChannelId);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * A channel with {@code campaigns} campaigns, each with metrics every third day of 2024 and
+     * the first half of 2025.
+     */
+    private int seedChannel(int campaigns) {
+        MarketingChannel channel = entityManager.persist(MarketingChannel.builder()
+                .sourceName("Channel with " + campaigns + " campaigns")
+                .isActive(true)
+                .build());
+        for (int c = 1; c <= campaigns; c++) {
+            Campaign campaign = entityManager.persist(Campaign.builder()
+                    .marketingChannel(channel)
+                    .accountId(100L)
+                    .campaignId(String.valueOf(9_000 + c))
+                    .name("Campaign " + c)
+                    .status("ENABLED")
+                    .build());
+            for (LocalDate day = LocalDate.of(2024, 1, 1); day.getYear() < 2025 || day.getMonthValue() <= 6;
+                 day = day.plusDays(3)) {
+                entityManager.persist(CampaignMetric.builder()
+                        .campaign(campaign)
+                        .marketingChannelId(channel.getId())
+                        .accountId(100L)
+                        .statsDate(day)
+                        .impressions(100 * c)
+                        .clicks(10 * c)
+                        .conversions(c)
+                        .cost(BigDecimal.valueOf(250 * c, 2))
+                        .build());
+            }
+        }
+        return channel.getId();
+    }
+}
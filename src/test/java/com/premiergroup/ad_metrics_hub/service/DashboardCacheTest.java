@@ -0,0 +1,55 @@
+package com.premiergroup.ad_metrics_hub.service;
+
+import com.premiergroup.ad_metrics_hub.enums.DateFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A sync that commits while a response is being computed must not leave that response cached.
+ */
+class DashboardCacheTest {
+
+    private static final DashboardCache.Key KEY = new DashboardCache.Key(DashboardCache.View.WIDGET, 1,
+            DateFilter.CUSTOM, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), null, null, false);
+
+    private final DashboardCache cache = new DashboardCache(100, 60);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void keepsAComputedResponse() {
+        assertThat(cache.get(KEY, this::load)).isEqualTo(1);
+        assertThat(cache.get(KEY, this::load)).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void dropsAResponseStillBeingComputedWhenASyncCommits() {
+        // the sync commits while the response reads its data
+        assertThat(cache.get(KEY, () -> {
+            cache.invalidate(1, LocalDate.of(2025, 3, 15), LocalDate.of(2025, 3, 15));
+            return load();
+        })).isEqualTo(1);
+
+        assertThat(cache.get(KEY, this::load)).isEqualTo(2);
+        assertThat(cache.get(KEY, this::load)).isEqualTo(2);
+    }
+
+    @Test
+    void dropsResponsesOverlappingASync() {
+        cache.get(KEY, this::load);
+
+        cache.invalidate(2, LocalDate.of(2025, 3, 15), LocalDate.of(2025, 3, 15));
+        assertThat(cache.get(KEY, this::load)).isEqualTo(1);
+
+        cache.invalidate(1, LocalDate.of(2025, 3, 15), LocalDate.of(2025, 3, 15));
+        assertThat(cache.get(KEY, this::load)).isEqualTo(2);
+    }
+
+    private Integer load() {
+        return loads.incrementAndGet();
+    }
+}